@@ -0,0 +1,26 @@
+package com.inventory.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs JMH with machine-readable results by default: unless {@code -rf}/{@code -rff}
+ * are given, results are written as JSON to {@code target/jmh-result-<version>.json},
+ * so runs of two releases can be diffed. All other arguments go to JMH unchanged.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf") && !jmhArgs.contains("-rff")) {
+            String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+            jmhArgs.addAll(List.of("-rf", "json",
+                    "-rff", "target/jmh-result-" + (version != null ? version : "dev") + ".json"));
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
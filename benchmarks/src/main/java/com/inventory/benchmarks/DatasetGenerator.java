@@ -0,0 +1,180 @@
+package com.inventory.benchmarks;
+
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Seeded SQLite datasets for the repository benchmarks, migrated with the
+ * application's own Flyway scripts. Sizes are stock rows; reference data scales
+ * with them (one product per 20 stock rows, at least 100). The random seed is
+ * fixed, so a dataset of a given size is the same on every machine.
+ *
+ * <pre>java -cp target/benchmarks.jar com.inventory.benchmarks.DatasetGenerator 10000 100000 1000000</pre>
+ */
+public final class DatasetGenerator {
+
+    static final Path DIRECTORY = Path.of(System.getProperty("inventory.bench.datasets", "target/datasets"));
+
+    private static final int CATEGORIES = 50;
+    static final int SUPPLIERS = 200;
+    static final int USERS = 20;
+    static final int CLIENTS = 100;
+    private static final int BATCH = 10_000;
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] sizes = args.length > 0 ? args : new String[]{"10000", "100000", "1000000"};
+        for (String size : sizes) {
+            Path file = ensure(Integer.parseInt(size));
+            System.out.println(file + " (" + Files.size(file) / 1024 + " KiB)");
+        }
+    }
+
+    static int products(int stockRows) {
+        return Math.max(100, stockRows / 20);
+    }
+
+    /**
+     * Returns the dataset with {@code stockRows} stock rows, generating it on first use.
+     */
+    static synchronized Path ensure(int stockRows) throws IOException, SQLException {
+        Path file = DIRECTORY.resolve("inventory-" + stockRows + ".db");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(DIRECTORY);
+        Path partial = DIRECTORY.resolve("inventory-" + stockRows + ".db.partial");
+        Files.deleteIfExists(partial);
+
+        String url = "jdbc:sqlite:" + partial;
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/migration/sqlite").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=OFF");
+                statement.execute("PRAGMA synchronous=OFF");
+            }
+            connection.setAutoCommit(false);
+            seed(connection, stockRows);
+            connection.commit();
+        }
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    private static void seed(Connection connection, int stockRows) throws SQLException {
+        Random random = new Random(stockRows);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into category (id, name, description) values (?, ?, ?)")) {
+            for (int id = 1; id <= CATEGORIES; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "Category " + id);
+                insert.setString(3, "Seeded category " + id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into supplier (id, name, contact_person, phone, email, address, additional_fees) "
+                        + "values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= SUPPLIERS; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "Supplier " + id);
+                insert.setString(3, "Contact " + id);
+                insert.setString(4, "+1-555-" + (1000 + id));
+                insert.setString(5, "supplier" + id + "@example.com");
+                insert.setString(6, id + " Warehouse Road");
+                insert.setBigDecimal(7, new BigDecimal("3.50"));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into user (id, username, full_name, email, created_at) values (?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= USERS; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "user" + id);
+                insert.setString(3, "User " + id);
+                insert.setString(4, "user" + id + "@example.com");
+                insert.setTimestamp(5, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into client (id, name, contact_email, is_credit_client) values (?, ?, ?, ?)")) {
+            for (int id = 1; id <= CLIENTS; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "Client " + id);
+                insert.setString(3, "client" + id + "@example.com");
+                insert.setBoolean(4, id % 3 == 0);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        int products = products(stockRows);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into product (id, name, brand, description, warranty_months, category_id) "
+                        + "values (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= products; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "Product " + id);
+                insert.setString(3, "Brand " + id % 80);
+                insert.setString(4, "Seeded product " + id);
+                insert.setInt(5, id % 36);
+                insert.setInt(6, 1 + random.nextInt(CATEGORIES));
+                insert.addBatch();
+                if (id % BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        LocalDate firstExpiry = LocalDate.of(2025, 1, 1);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into stock (id, product_id, supplier_id, location, quantity, cost_price, selling_price, "
+                        + "deposited_by_user_id, deposited_at, expiration_date) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= stockRows; id++) {
+                insert.setInt(1, id);
+                insert.setInt(2, 1 + random.nextInt(products));
+                insert.setInt(3, 1 + random.nextInt(SUPPLIERS));
+                insert.setString(4, "Aisle " + random.nextInt(40) + ", shelf " + random.nextInt(7));
+                insert.setInt(5, random.nextInt(250));
+                insert.setBigDecimal(6, BigDecimal.valueOf(100 + random.nextInt(900), 2));
+                insert.setBigDecimal(7, BigDecimal.valueOf(1000 + random.nextInt(9000), 2));
+                insert.setInt(8, 1 + random.nextInt(USERS));
+                insert.setTimestamp(9, now);
+                if (random.nextInt(5) == 0) {
+                    insert.setNull(10, java.sql.Types.DATE);
+                } else {
+                    insert.setDate(10, Date.valueOf(firstExpiry.plusDays(random.nextInt(720))));
+                }
+                insert.addBatch();
+                if (id % BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+}
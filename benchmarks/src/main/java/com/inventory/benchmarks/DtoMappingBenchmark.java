@@ -0,0 +1,68 @@
+package com.inventory.benchmarks;
+
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.StockDTO;
+import com.inventory.dto.SupplierDTO;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping, one page of 1000 entities per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE = 1000;
+
+    private List<Stock> stocks;
+    private List<Product> products;
+    private List<Supplier> suppliers;
+
+    @Setup
+    public void setUp() {
+        stocks = Fixtures.stocks(PAGE);
+        products = Fixtures.products(PAGE);
+        suppliers = Fixtures.suppliers(PAGE);
+    }
+
+    @Benchmark
+    public void stockFromEntity(Blackhole blackhole) {
+        for (Stock stock : stocks) {
+            blackhole.consume(StockDTO.fromEntity(stock));
+        }
+    }
+
+    @Benchmark
+    public void productFromEntity(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(ProductDTO.fromEntity(product));
+        }
+    }
+
+    @Benchmark
+    public void supplierFromEntity(Blackhole blackhole) {
+        for (Supplier supplier : suppliers) {
+            blackhole.consume(SupplierDTO.fromEntity(supplier));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.inventory.benchmarks;
+
+import com.inventory.model.Category;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory entities shaped like the seeded dataset, with associations populated
+ * the way the list endpoints load them.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<Stock> stocks(int count) {
+        List<Stock> stocks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = product(i % 500 + 1);
+            Supplier supplier = supplier(i % 200 + 1);
+            User user = new User();
+            user.setId((long) (i % 20 + 1));
+            user.setUsername("user" + user.getId());
+
+            Stock stock = new Stock();
+            stock.setId((long) i);
+            stock.setProductId(product.getId());
+            stock.setProduct(product);
+            stock.setSupplierId(supplier.getId());
+            stock.setSupplier(supplier);
+            stock.setDepositedByUserId(user.getId());
+            stock.setDepositor(user);
+            stock.setLocation("Aisle " + (i % 40) + ", shelf " + (i % 7));
+            stock.setQuantity(i % 250);
+            stock.setCostPrice(new BigDecimal("7.25"));
+            stock.setSellingPrice(new BigDecimal("12.99"));
+            stock.setDepositedAt(LocalDateTime.of(2024, 1, 1, 9, 30).plusMinutes(i));
+            stock.setExpirationDate(i % 5 == 0 ? null : LocalDate.of(2025, 1, 1).plusDays(i % 720));
+            stocks.add(stock);
+        }
+        return stocks;
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    static List<Supplier> suppliers(int count) {
+        List<Supplier> suppliers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            suppliers.add(supplier(i));
+        }
+        return suppliers;
+    }
+
+    static Product product(long id) {
+        Category category = new Category();
+        category.setId(id % 50 + 1);
+        category.setName("Category " + category.getId());
+
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setBrand("Brand " + id % 80);
+        product.setDescription("Description of product " + id + ", long enough to look like real catalogue text.");
+        product.setWarrantyMonths((int) (id % 36));
+        product.setCategoryId(category.getId());
+        product.setCategory(category);
+        return product;
+    }
+
+    static Supplier supplier(long id) {
+        Supplier supplier = new Supplier();
+        supplier.setId(id);
+        supplier.setName("Supplier " + id);
+        supplier.setContactPerson("Contact " + id);
+        supplier.setPhone("+1-555-01" + String.format("%02d", id % 100));
+        supplier.setEmail("supplier" + id + "@example.com");
+        supplier.setAddress(id + " Warehouse Road");
+        supplier.setAdditionalFees(new BigDecimal("3.50"));
+        return supplier;
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventory.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.StockDTO;
+import com.inventory.dto.SupplierDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of the list endpoints: one page of DTOs written to JSON with an
+ * ObjectMapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<StockDTO> stocks;
+    private List<ProductDTO> products;
+    private List<SupplierDTO> suppliers;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        stocks = Fixtures.stocks(pageSize).stream().map(StockDTO::fromEntity).toList();
+        products = Fixtures.products(pageSize).stream().map(ProductDTO::fromEntity).toList();
+        suppliers = Fixtures.suppliers(pageSize).stream().map(SupplierDTO::fromEntity).toList();
+    }
+
+    @Benchmark
+    public byte[] stocks() throws Exception {
+        return objectMapper.writeValueAsBytes(stocks);
+    }
+
+    @Benchmark
+    public byte[] products() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] suppliers() throws Exception {
+        return objectMapper.writeValueAsBytes(suppliers);
+    }
+}
@@ -0,0 +1,124 @@
+package com.inventory.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One request type of the load mix, with its latency histogram (microseconds) and
+ * counts. Ids are drawn uniformly from the ranges of the generated dataset.
+ */
+final class LoadScenario {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE = 100;
+
+    private final String name;
+    private final Set<Integer> expectedStatuses;
+    private final Function<ThreadLocalRandom, HttpRequest> request;
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder unexpected = new LongAdder();
+
+    private LoadScenario(String name, Set<Integer> expectedStatuses, Function<ThreadLocalRandom, HttpRequest> request) {
+        this.name = name;
+        this.expectedStatuses = expectedStatuses;
+        this.request = request;
+    }
+
+    static Map<String, LoadScenario> all(String baseUrl, String authorization, int stockRows) {
+        int productRows = DatasetGenerator.products(stockRows);
+        Map<String, LoadScenario> scenarios = new LinkedHashMap<>();
+        add(scenarios, "list-stocks", Set.of(200), random ->
+                get(baseUrl + "/api/stocks?limit=" + PAGE + "&after=" + random.nextInt(stockRows), authorization));
+        add(scenarios, "list-products", Set.of(200), random ->
+                get(baseUrl + "/api/products?limit=" + PAGE + "&after=" + random.nextInt(productRows), authorization));
+        add(scenarios, "get-stock", Set.of(200), random ->
+                get(baseUrl + "/api/stocks/" + (1 + random.nextInt(stockRows)), authorization));
+        add(scenarios, "create-stock", Set.of(201), random -> send("POST", baseUrl + "/api/stocks", authorization,
+                "{\"product_id\": " + (1 + random.nextInt(productRows))
+                        + ", \"supplier_id\": " + (1 + random.nextInt(DatasetGenerator.SUPPLIERS))
+                        + ", \"deposited_by_user_id\": " + (1 + random.nextInt(DatasetGenerator.USERS))
+                        + ", \"quantity\": " + (10 + random.nextInt(240))
+                        + ", \"selling_price\": 12.99, \"cost_price\": 7.25, \"location\": \"Dock\""
+                        + ", \"expiration_date\": \"2027-06-30\"}"));
+        add(scenarios, "update-stock", Set.of(200), random ->
+                send("PUT", baseUrl + "/api/stocks/" + (1 + random.nextInt(stockRows)), authorization,
+                        "{\"quantity\": " + (50 + random.nextInt(200)) + ", \"location\": \"Recounted\"}"));
+        // 409: every batch of the product is sold out or expired, which the dataset allows
+        add(scenarios, "checkout", Set.of(201, 409), random -> send("POST", baseUrl + "/api/sales", authorization,
+                "{\"client_id\": " + (1 + random.nextInt(DatasetGenerator.CLIENTS))
+                        + ", \"user_id\": " + (1 + random.nextInt(DatasetGenerator.USERS))
+                        + ", \"payment_method\": \"cash\", \"items\": [{\"product_id\": "
+                        + (1 + random.nextInt(productRows)) + ", \"quantity\": 1}]}"));
+        return scenarios;
+    }
+
+    private static void add(Map<String, LoadScenario> scenarios, String name, Set<Integer> expected,
+                            Function<ThreadLocalRandom, HttpRequest> request) {
+        scenarios.put(name, new LoadScenario(name, expected, request));
+    }
+
+    private static HttpRequest get(String uri, String authorization) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(TIMEOUT)
+                .header("Authorization", authorization)
+                .GET().build();
+    }
+
+    private static HttpRequest send(String method, String uri, String authorization, String json) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(TIMEOUT)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    /**
+     * Sends one request. Latency runs from {@code scheduledNanos}, when the request was
+     * due, so time spent queued behind a slow server is counted.
+     */
+    void call(HttpClient client, long scheduledNanos, boolean record) {
+        boolean expected;
+        try {
+            HttpResponse<Void> response = client.send(request.apply(ThreadLocalRandom.current()),
+                    HttpResponse.BodyHandlers.discarding());
+            expected = expectedStatuses.contains(response.statusCode());
+        } catch (Exception e) {
+            expected = false;
+        }
+        if (record) {
+            latency.recordValue(Math.min((System.nanoTime() - scheduledNanos) / 1000, HIGHEST_TRACKABLE_MICROS));
+            requests.increment();
+            if (!expected) {
+                unexpected.increment();
+            }
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long unexpected() {
+        return unexpected.sum();
+    }
+}
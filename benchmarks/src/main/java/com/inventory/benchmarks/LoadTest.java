@@ -0,0 +1,243 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load generator and latency SLO gate for the REST API.
+ *
+ * Requests from a weighted scenario mix are issued at a fixed rate (open model),
+ * each on its own thread: virtual threads on Java 21+, a cached pool otherwise.
+ * After a warmup the latencies are recorded into one HdrHistogram per scenario,
+ * written to {@code output-dir} as percentile distributions plus a JSON summary,
+ * and compared with the baseline by {@link SloGate}. The application's thread count
+ * and memory use during the measurement are sampled by {@link ServerMetrics}.
+ *
+ * <pre>java -cp target/benchmarks.jar com.inventory.benchmarks.LoadTest app-jar=../target/inventory-management-1.0.0.jar</pre>
+ *
+ * Exit status: 0 within budget, 1 SLO violation, 2 the run itself failed.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = run(new LoadTestConfig(args)) ? 0 : 1;
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 2;
+        }
+        System.exit(status);
+    }
+
+    private static boolean run(LoadTestConfig config) throws Exception {
+        Path outputDir = Path.of(config.string("output-dir"));
+        Files.createDirectories(outputDir);
+        int stockRows = config.integer("dataset-rows");
+
+        Process app = null;
+        String baseUrl = config.string("base-url");
+        String metricsUrl = config.string("metrics-url");
+        if (!config.string("app-jar").isEmpty()) {
+            baseUrl = "http://localhost:" + config.integer("app-port");
+            metricsUrl = "http://127.0.0.1:" + config.integer("management-port") + "/actuator/prometheus";
+            app = startApp(config, outputDir, DatasetGenerator.ensure(stockRows));
+        }
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (config.string("username") + ":" + config.string("password")).getBytes(StandardCharsets.UTF_8));
+
+        ExecutorService executor = newThreadPerTaskExecutor();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            awaitReady(client, baseUrl, authorization, app);
+
+            Map<String, LoadScenario> scenarios = LoadScenario.all(baseUrl, authorization, stockRows);
+            List<LoadScenario> weighted = new ArrayList<>();
+            config.mix().forEach((name, weight) -> {
+                LoadScenario scenario = scenarios.get(name);
+                if (scenario == null) {
+                    throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + scenarios.keySet());
+                }
+                for (int i = 0; i < weight; i++) {
+                    weighted.add(scenario);
+                }
+            });
+
+            Semaphore inFlight = new Semaphore(config.integer("max-in-flight"));
+            System.out.printf("Warmup: %d s at %d req/s%n", config.integer("warmup-seconds"), config.integer("rate"));
+            drive(client, executor, weighted, config, config.integer("warmup-seconds"), false, inFlight);
+            System.out.printf("Measuring: %d s at %d req/s%n", config.integer("duration-seconds"), config.integer("rate"));
+            Map<String, Object> server;
+            try (ServerMetrics serverMetrics = new ServerMetrics(client, metricsUrl)) {
+                serverMetrics.start();
+                long started = System.nanoTime();
+                drive(client, executor, weighted, config, config.integer("duration-seconds"), true, inFlight);
+                server = serverMetrics.peaks();
+                server.put("throughput", scenarios.values().stream().mapToLong(LoadScenario::requests).sum()
+                        / ((System.nanoTime() - started) / 1e9));
+            }
+
+            Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+            for (String name : config.mix().keySet()) {
+                LoadScenario scenario = scenarios.get(name);
+                results.put(name, SloGate.summary(scenario));
+                try (PrintStream out = new PrintStream(outputDir.resolve(name + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                    scenario.latency().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            SloGate.write(outputDir.resolve("results.json"), results);
+            SloGate.write(outputDir.resolve("server.json"), Map.of("server", server));
+            print(results, server);
+
+            Path baseline = Path.of(config.string("baseline"));
+            if (config.flag("update-baseline")) {
+                SloGate.write(baseline, results);
+                System.out.println("Baseline written to " + baseline);
+                return true;
+            }
+            List<String> violations = new SloGate(config).check(results, baseline);
+            violations.forEach(violation -> System.out.println("SLO VIOLATION " + violation));
+            System.out.println(violations.isEmpty() ? "SLO gate passed" : "SLO gate failed");
+            return violations.isEmpty();
+        } finally {
+            executor.shutdownNow();
+            if (app != null) {
+                app.destroy();
+                app.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Issues requests at {@code rate} per second for {@code seconds}, then waits for the
+     * ones still in flight. A request's schedule slot is fixed up front; if the pacer is
+     * held up by {@code max-in-flight}, the delay shows in that request's latency.
+     */
+    private static void drive(HttpClient client, ExecutorService executor, List<LoadScenario> weighted,
+                              LoadTestConfig config, int seconds, boolean record, Semaphore inFlight)
+            throws InterruptedException {
+        long period = TimeUnit.SECONDS.toNanos(1) / config.integer("rate");
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (long scheduled = start; scheduled < end; scheduled += period) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            LoadScenario scenario = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+            long due = scheduled;
+            executor.execute(() -> {
+                try {
+                    scenario.call(client, due, record);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        int permits = config.integer("max-in-flight");
+        inFlight.acquire(permits);
+        inFlight.release(permits);
+    }
+
+    private static Process startApp(LoadTestConfig config, Path outputDir, Path dataset) throws IOException {
+        Path database = outputDir.resolve("app.db").toAbsolutePath();
+        Files.deleteIfExists(outputDir.resolve("app.db-wal"));
+        Files.deleteIfExists(outputDir.resolve("app.db-shm"));
+        Files.copy(dataset, database, StandardCopyOption.REPLACE_EXISTING);
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        System.out.println("Starting " + config.string("app-jar") + " on port " + config.integer("app-port"));
+        List<String> command = new ArrayList<>(List.of(java, "-jar", config.string("app-jar"),
+                "--server.port=" + config.integer("app-port"),
+                "--management.server.port=" + config.integer("management-port"),
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--spring.jpa.show-sql=false"));
+        if (!config.string("app-args").isEmpty()) {
+            command.addAll(List.of(config.string("app-args").split("\\s+")));
+        }
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(outputDir.resolve("app.log").toFile())
+                .start();
+    }
+
+    private static void awaitReady(HttpClient client, String baseUrl, String authorization, Process app)
+            throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/categories?limit=1"))
+                .header("Authorization", authorization).timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            if (app != null && !app.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + app.exitValue() + ", see app.log");
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application at " + baseUrl + " did not become ready");
+    }
+
+    private static void print(Map<String, Map<String, Object>> results, Map<String, Object> server) {
+        System.out.printf("%-14s %9s %10s %9s %9s %9s %9s%n",
+                "scenario", "requests", "unexpected", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((name, summary) -> System.out.printf("%-14s %9d %10d %9.2f %9.2f %9.2f %9.2f%n", name,
+                summary.get("requests"), summary.get("unexpected"), summary.get("p50"), summary.get("p99"),
+                summary.get("p999"), summary.get("max")));
+        System.out.printf("throughput %.1f req/s", (Double) server.get("throughput"));
+        if (server.containsKey("threads")) {
+            System.out.printf(", server peaks: %.0f threads, %.0f MiB heap, %.0f MiB non-heap, %.0f pending connections",
+                    server.get("threads"), server.get("heapMiB"), server.get("nonHeapMiB"),
+                    server.get("pendingConnections"));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Virtual threads when the runtime has them (Java 21+); the module itself targets 17
+     * like the application, so they are looked up reflectively.
+     */
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "load-test");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
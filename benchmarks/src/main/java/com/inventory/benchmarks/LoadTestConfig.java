@@ -0,0 +1,64 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings for {@link LoadTest}: {@code loadtest.properties} from the classpath,
+ * overridden by {@code key=value} command-line arguments.
+ */
+final class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig(String[] args) {
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            properties.load(defaults);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, separator);
+            if (!properties.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown setting: " + key);
+            }
+            properties.setProperty(key, arg.substring(separator + 1));
+        }
+    }
+
+    String string(String key) {
+        return properties.getProperty(key).trim();
+    }
+
+    int integer(String key) {
+        return Integer.parseInt(string(key));
+    }
+
+    double decimal(String key) {
+        return Double.parseDouble(string(key));
+    }
+
+    boolean flag(String key) {
+        return Boolean.parseBoolean(string(key));
+    }
+
+    /**
+     * Scenario weights in declaration order, from {@code name:weight,name:weight}.
+     */
+    Map<String, Integer> mix() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : string("mix").split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,126 @@
+package com.inventory.benchmarks;
+
+import com.inventory.InventoryApplication;
+import com.inventory.dto.StockDTO;
+import com.inventory.model.Category;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockRepository;
+import com.inventory.repository.SupplierRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository reads against a seeded SQLite file, through the application's own
+ * context (sqlite profile: WAL, writer and reader pools). Every call runs in its
+ * own persistence context, as it does from the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int PAGE = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    public int stockRows;
+
+    private ConfigurableApplicationContext context;
+    private StockRepository stockRepository;
+    private ProductRepository productRepository;
+    private SupplierRepository supplierRepository;
+    private CategoryRepository categoryRepository;
+    private int productRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dataset = DatasetGenerator.ensure(stockRows);
+        context = new SpringApplicationBuilder(InventoryApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + dataset.toAbsolutePath(),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        stockRepository = context.getBean(StockRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+        supplierRepository = context.getBean(SupplierRepository.class);
+        categoryRepository = context.getBean(CategoryRepository.class);
+        productRows = DatasetGenerator.products(stockRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Stock> stockFindById() {
+        return stockRepository.findById(randomId(stockRows));
+    }
+
+    @Benchmark
+    public boolean stockExistsById() {
+        return stockRepository.existsById(randomId(stockRows));
+    }
+
+    @Benchmark
+    public List<StockDTO> stockDtoPage() {
+        return stockRepository.findDtoPage(randomId(stockRows - PAGE), Limit.of(PAGE + 1));
+    }
+
+    @Benchmark
+    public Optional<Product> productFindById() {
+        return productRepository.findById(randomId(productRows));
+    }
+
+    @Benchmark
+    public boolean productExistsById() {
+        return productRepository.existsById(randomId(productRows));
+    }
+
+    @Benchmark
+    public List<Product> productFindAll() {
+        return productRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Supplier> supplierFindAll() {
+        return supplierRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Category> categoryFindAll() {
+        return categoryRepository.findAll();
+    }
+
+    private static long randomId(int max) {
+        return 1 + ThreadLocalRandom.current().nextInt(Math.max(1, max));
+    }
+}
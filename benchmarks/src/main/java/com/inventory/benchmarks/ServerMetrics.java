@@ -0,0 +1,103 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the application's Prometheus endpoint once a second while a load test
+ * measures, keeping the peak of each gauge: live threads, heap and non-heap use,
+ * requests waiting for a pooled connection. These show the resource side of a run,
+ * e.g. platform against virtual request threads.
+ */
+final class ServerMetrics implements AutoCloseable {
+
+    private static final Map<String, String> GAUGES = new LinkedHashMap<>();
+
+    static {
+        GAUGES.put("threads", "jvm_threads_live_threads");
+        GAUGES.put("heapMiB", "jvm_memory_used_bytes{area=\"heap\"");
+        GAUGES.put("nonHeapMiB", "jvm_memory_used_bytes{area=\"nonheap\"");
+        GAUGES.put("pendingConnections", "hikaricp_connections_pending");
+    }
+
+    private final HttpClient client;
+    private final URI endpoint;
+    private final Map<String, Double> peaks = new LinkedHashMap<>();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "server-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean sampled;
+
+    ServerMetrics(HttpClient client, String endpoint) {
+        this.client = client;
+        this.endpoint = URI.create(endpoint);
+        GAUGES.keySet().forEach(name -> peaks.put(name, 0.0));
+    }
+
+    void start() {
+        sampler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return peak value per gauge, or an empty map when no sample could be read
+     */
+    synchronized Map<String, Object> peaks() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (sampled) {
+            peaks.forEach((name, value) -> result.put(name, name.endsWith("MiB") ? value / (1024 * 1024) : value));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private void sample() {
+        String body;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(endpoint).timeout(Duration.ofSeconds(2)).build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return;
+            }
+            body = response.body();
+        } catch (IOException e) {
+            // not reachable this second; the peaks come from the samples that were
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        // A gauge can have several series (memory pools, connection pools); they are summed
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("#")) {
+                continue;
+            }
+            GAUGES.forEach((name, prefix) -> {
+                if (line.startsWith(prefix)) {
+                    double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                    totals.merge(name, value, Double::sum);
+                }
+            });
+        }
+        synchronized (this) {
+            totals.forEach((name, value) -> peaks.merge(name, value, Math::max));
+        }
+        sampled = true;
+    }
+}
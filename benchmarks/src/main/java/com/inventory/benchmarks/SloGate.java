@@ -0,0 +1,99 @@
+package com.inventory.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a load-test run with the checked-in baseline. Each scenario's p50, p99
+ * and p99.9 may exceed the baseline by its relative budget plus a fixed slack (which
+ * keeps sub-millisecond percentiles from failing on noise); its share of unexpected
+ * responses may not exceed {@code budget.max-error-rate}.
+ *
+ * A percentile is only gated when both the run and the baseline recorded at least
+ * {@code budget.min-requests.<percentile>} requests for the scenario: with only a few
+ * samples above it, a tail percentile is set by whichever requests a single pause
+ * happened to hit, often the maximum, and fails on noise.
+ */
+final class SloGate {
+
+    static final String[] PERCENTILES = {"p50", "p99", "p999"};
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final LoadTestConfig config;
+
+    SloGate(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    static Map<String, Object> summary(LoadScenario scenario) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", scenario.requests());
+        summary.put("unexpected", scenario.unexpected());
+        summary.put("p50", millis(scenario.latency().getValueAtPercentile(50)));
+        summary.put("p99", millis(scenario.latency().getValueAtPercentile(99)));
+        summary.put("p999", millis(scenario.latency().getValueAtPercentile(99.9)));
+        summary.put("max", millis(scenario.latency().getMaxValue()));
+        return summary;
+    }
+
+    static void write(Path file, Map<String, Map<String, Object>> results) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        JSON.writeValue(file.toFile(), results);
+    }
+
+    /**
+     * @return the violations; empty when the run is within budget
+     */
+    @SuppressWarnings("unchecked")
+    List<String> check(Map<String, Map<String, Object>> results, Path baselineFile) throws IOException {
+        Map<String, Map<String, Object>> baseline = JSON.readValue(baselineFile.toFile(), Map.class);
+        double slack = config.decimal("budget.slack-ms");
+        double maxErrorRate = config.decimal("budget.max-error-rate");
+        List<String> violations = new ArrayList<>();
+
+        results.forEach((scenario, current) -> {
+            long requests = ((Number) current.get("requests")).longValue();
+            long unexpected = ((Number) current.get("unexpected")).longValue();
+            if (requests == 0) {
+                violations.add(scenario + ": no requests recorded");
+                return;
+            }
+            if ((double) unexpected / requests > maxErrorRate) {
+                violations.add(String.format("%s: %d of %d responses unexpected (budget %.2f%%)",
+                        scenario, unexpected, requests, maxErrorRate * 100));
+            }
+            Map<String, Object> reference = baseline.get(scenario);
+            if (reference == null) {
+                violations.add(scenario + ": not in baseline " + baselineFile);
+                return;
+            }
+            long sampled = Math.min(requests, ((Number) reference.get("requests")).longValue());
+            for (String percentile : PERCENTILES) {
+                if (sampled < config.integer("budget.min-requests." + percentile)) {
+                    continue;
+                }
+                double base = ((Number) reference.get(percentile)).doubleValue();
+                double limit = base * (1 + config.decimal("budget." + percentile)) + slack;
+                double value = ((Number) current.get(percentile)).doubleValue();
+                if (value > limit) {
+                    violations.add(String.format("%s: %s %.2f ms exceeds %.2f ms (baseline %.2f ms)",
+                            scenario, percentile, value, limit, base));
+                }
+            }
+        });
+        return violations;
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
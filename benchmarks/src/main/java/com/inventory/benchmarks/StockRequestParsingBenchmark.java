@@ -0,0 +1,124 @@
+package com.inventory.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.StockRequest;
+import com.inventory.model.Stock;
+import com.inventory.web.FastPathValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SimpleErrors;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a POST /api/stocks body into a Stock entity. {@code typedBody} follows
+ * StockController.createStock: bind to StockRequest, then check its constraints with
+ * the MVC validator. {@code typedBodyFullValidation} validates with Hibernate Validator
+ * alone, and {@code mapBody} is the former handling, kept as the baseline: bind to a
+ * Map, then convert each field through toString(). Run with {@code -prof gc} for
+ * allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockRequestParsingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+    private static final String[] REQUIRED_FIELDS =
+            {"product_id", "supplier_id", "quantity", "selling_price", "deposited_by_user_id"};
+
+    private ObjectMapper objectMapper;
+    private Validator beanValidator;
+    private FastPathValidator validator;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        validator = new FastPathValidator(beanValidator);
+        body = ("{\"product_id\": 42, \"supplier_id\": 7, \"quantity\": 120, \"selling_price\": 12.99,"
+                + " \"cost_price\": 7.25, \"deposited_by_user_id\": 3, \"location\": \"Aisle 4, shelf 2\","
+                + " \"expiration_date\": \"2026-03-31\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Stock mapBody() throws Exception {
+        Map<String, Object> request = objectMapper.readValue(body, MAP);
+        for (String field : REQUIRED_FIELDS) {
+            if (!request.containsKey(field)) {
+                throw new IllegalArgumentException(field);
+            }
+        }
+        Stock stock = new Stock();
+        stock.setProductId(Long.valueOf(request.get("product_id").toString()));
+        stock.setSupplierId(Long.valueOf(request.get("supplier_id").toString()));
+        stock.setDepositedByUserId(Long.valueOf(request.get("deposited_by_user_id").toString()));
+        stock.setQuantity(Integer.valueOf(request.get("quantity").toString()));
+        stock.setSellingPrice(new BigDecimal(request.get("selling_price").toString()));
+        stock.setLocation((String) request.get("location"));
+        if (request.get("cost_price") != null) {
+            stock.setCostPrice(new BigDecimal(request.get("cost_price").toString()));
+        }
+        if (request.get("expiration_date") != null) {
+            stock.setExpirationDate(LocalDate.parse(request.get("expiration_date").toString(),
+                    DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+        return stock;
+    }
+
+    @Benchmark
+    public Stock typedBody() throws Exception {
+        StockRequest request = objectMapper.readValue(body, StockRequest.class);
+        Errors errors = new SimpleErrors(request);
+        validator.validate(request, errors);
+        if (errors.hasErrors()) {
+            throw new IllegalArgumentException(errors.toString());
+        }
+        return toStock(request);
+    }
+
+    @Benchmark
+    public Stock typedBodyFullValidation() throws Exception {
+        StockRequest request = objectMapper.readValue(body, StockRequest.class);
+        if (!beanValidator.validate(request).isEmpty()) {
+            throw new IllegalArgumentException("invalid");
+        }
+        return toStock(request);
+    }
+
+    private static Stock toStock(StockRequest request) {
+        Stock stock = new Stock();
+        stock.setProductId(request.getProductId());
+        stock.setSupplierId(request.getSupplierId());
+        stock.setDepositedByUserId(request.getDepositedByUserId());
+        stock.setQuantity(request.getQuantity());
+        stock.setSellingPrice(request.getSellingPrice());
+        stock.setLocation(request.getLocation());
+        stock.setCostPrice(request.getCostPrice());
+        stock.setExpirationDate(request.getExpirationDate());
+        return stock;
+    }
+}
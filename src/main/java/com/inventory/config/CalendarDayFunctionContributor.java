@@ -0,0 +1,33 @@
+package com.inventory.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code calendar_day(timestamp)}, the calendar day of a timestamp column as
+ * {@code yyyy-MM-dd} text, for grouping by day in HQL.
+ *
+ * On SQLite the built-in date functions expect ISO text, but the driver writes
+ * timestamps as epoch milliseconds (in the JVM's time zone) while databases created
+ * by the Flask app hold text, so both are handled. Registered through
+ * {@code META-INF/services}.
+ */
+public class CalendarDayFunctionContributor implements FunctionContributor {
+
+    public static final String NAME = "calendar_day";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof SQLiteDialect
+                ? "(case typeof(?1) when 'integer' then date(?1 / 1000, 'unixepoch', 'localtime') else date(?1) end)"
+                : "cast(cast(?1 as date) as varchar(10))";
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(NAME, pattern)
+                .setExactArgumentCount(1)
+                .setInvariantType(functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry().resolve(StandardBasicTypes.STRING))
+                .register();
+    }
+}
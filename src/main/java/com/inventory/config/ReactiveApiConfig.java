@@ -0,0 +1,56 @@
+package com.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.controller.CatalogStreamHandler;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Serves the WebFlux routes under {@code /api/v2} from the application's Tomcat.
+ *
+ * The servlet adapter uses Servlet non-blocking I/O, so a response is written only
+ * as fast as the client reads it and demand is passed back to the {@code Flux};
+ * no thread is held while a client is slow. Everything else stays on Spring MVC.
+ */
+@Configuration
+public class ReactiveApiConfig {
+
+    /**
+     * The routes, relative to {@code /api/v2}: the servlet path is their context path.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> reactiveRoutes(CatalogStreamHandler handler) {
+        return RouterFunctions.route()
+                .GET("/stocks", handler::stocks)
+                .GET("/products", handler::products)
+                .build();
+    }
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveApi(RouterFunction<ServerResponse> reactiveRoutes,
+                                                                          ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveRoutes, strategies);
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(httpHandler), "/api/v2/*");
+        registration.setName("reactiveApi");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.inventory.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the reader
+ * pool and everything else, including non-transactional access, to the writer.
+ *
+ * The read-only flag is only bound once the transaction has begun, so this must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers fetching the connection to the first statement.
+ *
+ * Spring Data marks only its inherited read methods read-only; declared queries, and
+ * lazy loads through an open-in-view session, run without a transaction and so reach
+ * the writer. Handlers that only read are therefore {@code @Transactional(readOnly = true)}
+ * themselves.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String WRITER = "writer";
+    private static final String READER = "reader";
+
+    public ReadWriteRoutingDataSource(DataSource writer, DataSource readers) {
+        setTargetDataSources(Map.of(WRITER, writer, READER, readers));
+        setDefaultTargetDataSource(writer);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READER : WRITER;
+    }
+}
@@ -1,5 +1,9 @@
 package com.inventory.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.service.AuthTokens;
+import com.inventory.web.TokenAuthenticationFilter;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,20 +12,28 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthTokens authTokens, ObjectMapper objectMapper)
+            throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/**").permitAll()
-                .anyRequest().authenticated());
+                // an explicit matcher: with the /api/v2 servlet registered, a pattern string is ambiguous
+                .requestMatchers(AntPathRequestMatcher.antMatcher("/api/**")).permitAll()
+                // exposed endpoints are limited to health and prometheus, on the loopback management port
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+                .anyRequest().authenticated())
+            .addFilterBefore(new TokenAuthenticationFilter(authTokens, objectMapper),
+                UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
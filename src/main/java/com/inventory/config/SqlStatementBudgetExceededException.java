@@ -0,0 +1,8 @@
+package com.inventory.config;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+
+    public SqlStatementBudgetExceededException(String label, int budget) {
+        super(label + " exceeded its budget of " + budget + " SQL statements.");
+    }
+}
@@ -0,0 +1,151 @@
+package com.inventory.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.Transaction;
+
+/**
+ * Counts the SQL statements executed on the current thread, per scope and per
+ * transaction within it. Statements are reported by {@link StatementCountingDataSource}
+ * around the application's {@code DataSource}, so Hibernate and {@code JdbcTemplate}
+ * work both count; transactions are reported by Hibernate, which every transaction
+ * manager call goes through.
+ *
+ * A scope is opened with {@link #start()} and closed with {@link Scope#close()};
+ * statements executed outside a scope are not counted. Scopes nest: a closed scope
+ * adds its count to the one it was opened in, so a scope around a whole request sees
+ * the request's statements. An executed JDBC batch counts as one statement.
+ *
+ * A scope given a budget with {@link Scope#limit} and asked to enforce it fails the
+ * statement that goes over with {@link SqlStatementBudgetExceededException}, which
+ * rolls the surrounding transaction back.
+ */
+public class SqlStatementCounter implements Interceptor {
+
+    public static final int UNLIMITED = -1;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return the innermost open scope on this thread, or {@code null}
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void statementExecuted() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statementExecuted();
+        }
+    }
+
+    @Override
+    public void afterTransactionBegin(Transaction tx) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.transactionStarted();
+        }
+    }
+
+    @Override
+    public void afterTransactionCompletion(Transaction tx) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.transactionCompleted();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int statements;
+        private int transactions;
+        private int transactionStatements;
+        private int largestTransaction;
+        private String label;
+        private int budget = UNLIMITED;
+        private boolean enforced;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * @param label    what the scope covers, used in the budget error message
+         * @param budget   statements allowed, or {@link #UNLIMITED}
+         * @param enforced whether going over the budget fails the statement
+         */
+        public void limit(String label, int budget, boolean enforced) {
+            this.label = label;
+            this.budget = budget;
+            this.enforced = enforced;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getTransactions() {
+            return transactions;
+        }
+
+        /**
+         * @return statements executed by the largest completed transaction of the scope
+         */
+        public int getLargestTransaction() {
+            return largestTransaction;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public boolean isOverBudget() {
+            return budget != UNLIMITED && statements > budget;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statements += statements;
+                parent.transactionStatements += statements;
+                parent.transactions += transactions;
+                parent.largestTransaction = Math.max(parent.largestTransaction, largestTransaction);
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        private void statementExecuted() {
+            statements++;
+            transactionStatements++;
+            if (enforced && isOverBudget()) {
+                throw new SqlStatementBudgetExceededException(label, budget);
+            }
+        }
+
+        private void transactionStarted() {
+            transactions++;
+            transactionStatements = 0;
+        }
+
+        private void transactionCompleted() {
+            largestTransaction = Math.max(largestTransaction, transactionStatements);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.inventory.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite runtime profile: WAL journaling with one dedicated writer connection and a
+ * pool of read-only connections.
+ *
+ * SQLite allows a single writer at a time, so writes queue on the one-connection
+ * writer pool instead of failing with SQLITE_BUSY. Under WAL, readers see a
+ * consistent snapshot without blocking the writer, so the reader pool is sized to
+ * the number of cores. Every connection is opened with the same pragmas.
+ *
+ * The pools are not {@code DataSource} beans, so their {@code hikaricp.*} metrics
+ * (including the connection acquire time, i.e. writer queueing) are bound here.
+ */
+@Configuration
+@Profile("sqlite")
+public class SqliteDataSourceConfig {
+
+    @Value("${inventory.sqlite.reader-pool-size:0}")
+    private int readerPoolSize;
+
+    @Value("${inventory.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${inventory.sqlite.cache-size-kib:65536}")
+    private int cacheSizeKib;
+
+    @Value("${inventory.sqlite.mmap-size-bytes:268435456}")
+    private long mmapSizeBytes;
+
+    @Bean
+    public SqliteConnectionPools sqliteConnectionPools(DataSourceProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        int readers = readerPoolSize > 0 ? readerPoolSize : Runtime.getRuntime().availableProcessors();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        HikariDataSource writer = pool(properties, registry, "sqlite-writer", 1, false);
+        HikariDataSource reader = pool(properties, registry, "sqlite-reader", readers, true);
+        return new SqliteConnectionPools(writer, reader);
+    }
+
+    @Bean
+    public DataSource dataSource(SqliteConnectionPools pools) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(pools.getWriter(), pools.getReader()));
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, MeterRegistry registry, String name, int size,
+                                  boolean readOnly) {
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        sqlite.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        sqlite.setBusyTimeout(busyTimeoutMs);
+        // negative cache_size is in KiB rather than pages
+        sqlite.setCacheSize(-cacheSizeKib);
+        sqlite.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(mmapSizeBytes));
+        if (readOnly) {
+            sqlite.setReadOnly(true);
+        } else {
+            // take the write lock at BEGIN instead of failing to upgrade a read lock mid-transaction
+            sqlite.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        }
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(properties.determineUrl());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setDataSourceProperties(sqlite.toProperties());
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        config.setReadOnly(readOnly);
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        if (readOnly) {
+            // the database file may not exist until the writer has created the schema
+            config.setInitializationFailTimeout(-1);
+        }
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Owns both pools so they are closed with the context; the pools themselves are
+     * not exposed as {@code DataSource} beans.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SqliteConnectionPools implements AutoCloseable {
+        private final HikariDataSource writer;
+        private final HikariDataSource reader;
+
+        @Override
+        public void close() {
+            reader.close();
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.inventory.config;
+
+import com.inventory.web.FastPathValidator;
+import com.inventory.web.SqlStatementBudgetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor;
+    private final jakarta.validation.Validator beanValidator;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementBudgetInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new FastPathValidator(beanValidator);
+    }
+}
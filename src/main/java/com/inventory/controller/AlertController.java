@@ -0,0 +1,43 @@
+package com.inventory.controller;
+
+import com.inventory.service.StockAlert;
+import com.inventory.service.StockAlerts;
+import com.inventory.web.SqlStatementBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final StockAlerts stockAlerts;
+
+    @SqlStatementBudget(0)
+    @GetMapping
+    public ResponseEntity<List<StockAlert>> getAlerts(@RequestParam(required = false) StockAlert.Type type) {
+        List<StockAlert> alerts = stockAlerts.current();
+        if (type != null) {
+            alerts.removeIf(alert -> alert.getType() != type);
+        }
+        return ResponseEntity.ok(alerts);
+    }
+
+    /**
+     * Server-sent events: {@code alert} when a product drops below the reorder threshold
+     * or a quantity starts expiring or expires, {@code resolved} when a product is restocked.
+     */
+    @SqlStatementBudget(0)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return stockAlerts.subscribe();
+    }
+}
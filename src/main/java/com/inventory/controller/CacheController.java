@@ -0,0 +1,25 @@
+package com.inventory.controller;
+
+import com.inventory.service.ReferenceDataCache;
+import com.inventory.web.SqlStatementBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @SqlStatementBudget(0)
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(referenceDataCache.stats());
+    }
+}
@@ -0,0 +1,76 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ErrorResponse;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.StockDTO;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockRepository;
+import com.inventory.web.KeysetFlux;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reactive read API ({@code /api/v2}): the stock and product catalogs as
+ * {@link Flux} streams with backpressure.
+ *
+ * Responses are newline-delimited JSON by default, or a JSON array written element
+ * by element for {@code Accept: application/json}. {@code after} resumes after an
+ * id and {@code limit} caps the number of rows; without them the whole catalog is
+ * streamed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogStreamHandler {
+
+    private final StockRepository stockRepository;
+    private final ProductRepository productRepository;
+    private final KeysetFlux keysetFlux;
+
+    public Mono<ServerResponse> stocks(ServerRequest request) {
+        return respond(request, StockDTO.class, after -> keysetFlux.rows(after,
+                (cursor, limit) -> stockRepository.findDtoPage(cursor, Limit.of(limit)), StockDTO::getId));
+    }
+
+    public Mono<ServerResponse> products(ServerRequest request) {
+        return respond(request, ProductDTO.class, after -> keysetFlux.rows(after,
+                (cursor, limit) -> productRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(limit))
+                        .stream().map(ProductDTO::fromEntity).toList(), ProductDTO::getId));
+    }
+
+    private <T> Mono<ServerResponse> respond(ServerRequest request, Class<T> type,
+                                             Function<Long, Flux<T>> rows) {
+        long after;
+        long limit;
+        try {
+            after = longParam(request, "after").orElse(0L);
+            limit = longParam(request, "limit").orElse(Long.MAX_VALUE);
+        } catch (NumberFormatException e) {
+            after = -1;
+            limit = -1;
+        }
+        if (after < 0 || limit < 0) {
+            return ServerResponse.badRequest()
+                    .bodyValue(new ErrorResponse("after and limit must be non-negative numbers."));
+        }
+
+        List<MediaType> accepted = request.headers().accept();
+        MediaType contentType = accepted.stream().anyMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype)
+                ? MediaType.APPLICATION_JSON
+                : MediaType.APPLICATION_NDJSON;
+        return ServerResponse.ok().contentType(contentType).body(rows.apply(after).take(limit), type);
+    }
+
+    private static Optional<Long> longParam(ServerRequest request, String name) {
+        return request.queryParam(name).map(Long::valueOf);
+    }
+}
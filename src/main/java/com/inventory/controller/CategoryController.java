@@ -1,99 +1,159 @@
 package com.inventory.controller;
 
 import com.inventory.dto.CategoryDTO;
+import com.inventory.dto.CategoryRequest;
+import com.inventory.dto.ErrorResponse;
+import com.inventory.dto.ProductDTO;
 import com.inventory.model.Category;
+import com.inventory.model.ChangeLogEntry;
 import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.CatalogVersions;
+import com.inventory.service.ChangeLog;
+import com.inventory.service.DomainEvent;
+import com.inventory.service.Outbox;
+import com.inventory.service.ReferenceDataCache;
+import com.inventory.web.CursorPagination;
+import com.inventory.web.EntityTags;
+import com.inventory.web.ListResponseCache;
+import com.inventory.web.NdjsonStreamer;
+import com.inventory.web.SqlStatementBudget;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
 public class CategoryController {
 
+    private static final ErrorResponse CATEGORY_NOT_FOUND = new ErrorResponse("Category not found");
+
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final ReferenceDataCache referenceDataCache;
+    private final CatalogVersions catalogVersions;
+    private final ChangeLog changeLog;
+    private final ListResponseCache listResponseCache;
+    private final Outbox outbox;
 
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        List<CategoryDTO> categories = categoryRepository.findAll()
-                .stream()
-                .map(CategoryDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getAllCategories(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   ServletWebRequest request) {
+        long from = CursorPagination.after(after);
+        int pageSize = CursorPagination.limit(limit);
+        return listResponseCache.respond(CatalogVersions.Table.CATEGORIES, from, pageSize, request, () -> {
+            List<Category> categories = categoryRepository.findByIdGreaterThanOrderByIdAsc(
+                    from, CursorPagination.fetchLimit(pageSize));
+            return CursorPagination.page(categories, pageSize, Category::getId, CategoryDTO::fromEntity);
+        });
+    }
+
+    @SqlStatementBudget(0)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCategories() {
+        return ndjsonStreamer.stream(categoryRepository::streamAllByOrderByIdAsc, CategoryDTO::fromEntity);
     }
 
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<?> getCategoryById(@PathVariable Long id) {
-        return categoryRepository.findById(id)
-                .map(category -> ResponseEntity.ok(CategoryDTO.fromEntity(category)))
+        return referenceDataCache.category(id)
+                .map(category -> ResponseEntity.ok().eTag(EntityTags.of(category.getVersion())).body(category))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(null));
     }
 
+    @SqlStatementBudget(5)
+    @Transactional
     @PostMapping
-    public ResponseEntity<Object> createCategory(@RequestBody Map<String, String> request) {
-        Map<String, Object> response = new HashMap<>();
-        String name = request.get("name");
-
-        if (name == null || name.isEmpty()) {
-            response.put("message", "Category name is required");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        if (categoryRepository.existsByName(name)) {
-            response.put("message", "Category '" + name + "' already exists.");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    public ResponseEntity<Object> createCategory(@Valid @RequestBody CategoryRequest request) {
+        if (categoryRepository.existsByName(request.getName())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Category '" + request.getName() + "' already exists."));
         }
 
         Category category = new Category();
-        category.setName(name);
-        category.setDescription(request.get("description"));
+        category.setName(request.getName());
+        category.setDescription(request.getDescription());
         category = categoryRepository.save(category);
+        CategoryDTO created = CategoryDTO.fromEntity(category);
+        referenceDataCache.categoryChanged(created);
+        changeLog.upsert(ChangeLogEntry.EntityType.CATEGORY, created.getId(), created);
+        catalogVersions.changed(CatalogVersions.Table.CATEGORIES);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(CategoryDTO.fromEntity(category));
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // 7 when the category is renamed, its products are logged again and the rename is published
+    @SqlStatementBudget(7)
+    @Transactional
     @PutMapping("/{id}")
-    public ResponseEntity<Object> updateCategory(@PathVariable Long id, @RequestBody Map<String, String> request) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<Object> updateCategory(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody CategoryRequest request) {
         return categoryRepository.findById(id)
                 .map(category -> {
-                    if (request.containsKey("name")) {
-                        category.setName(request.get("name"));
+                    if (!EntityTags.matches(ifMatch, category.getVersion())) {
+                        return EntityTags.preconditionFailed(category.getVersion());
+                    }
+                    boolean renamed = request.getName() != null
+                            && !request.getName().equals(category.getName());
+                    if (request.getName() != null) {
+                        category.setName(request.getName());
                     }
-                    if (request.containsKey("description")) {
-                        category.setDescription(request.get("description"));
+                    if (request.getDescription() != null) {
+                        category.setDescription(request.getDescription());
                     }
-                    categoryRepository.save(category);
-                    return ResponseEntity.ok((Object) CategoryDTO.fromEntity(category));
+                    categoryRepository.saveAndFlush(category);
+                    CategoryDTO updated = CategoryDTO.fromEntity(category);
+                    referenceDataCache.categoryChanged(updated);
+                    changeLog.upsert(ChangeLogEntry.EntityType.CATEGORY, id, updated);
+                    if (renamed) {
+                        // Products carry the category name
+                        List<ProductDTO> products = productRepository.findByCategoryId(id).stream()
+                                .map(product -> {
+                                    ProductDTO dto = ProductDTO.fromEntity(product);
+                                    dto.setCategoryName(category.getName());
+                                    return dto;
+                                })
+                                .toList();
+                        changeLog.upsertAll(ChangeLogEntry.EntityType.PRODUCT, products, ProductDTO::getId);
+                        outbox.publish(new DomainEvent.CategoryRenamed(id, category.getName()));
+                    }
+                    // Product lists carry the category name
+                    catalogVersions.changed(CatalogVersions.Table.CATEGORIES, CatalogVersions.Table.PRODUCTS);
+                    return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body((Object) updated);
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Category not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(CATEGORY_NOT_FOUND));
     }
 
+    @SqlStatementBudget(4)
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteCategory(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
-
         return categoryRepository.findById(id)
                 .map(category -> {
                     categoryRepository.delete(category);
-                    response.put("message", "Category deleted successfully");
-                    return ResponseEntity.status(HttpStatus.NO_CONTENT).body((Object) response);
+                    referenceDataCache.categoryDeleted(id);
+                    changeLog.deleted(ChangeLogEntry.EntityType.CATEGORY, id);
+                    catalogVersions.changed(CatalogVersions.Table.CATEGORIES, CatalogVersions.Table.PRODUCTS);
+                    return ResponseEntity.noContent().build();
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Category not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(CATEGORY_NOT_FOUND));
     }
 }
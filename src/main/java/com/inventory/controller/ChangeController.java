@@ -0,0 +1,43 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ChangeDTO;
+import com.inventory.repository.ChangeLogRepository;
+import com.inventory.service.ChangeLog;
+import com.inventory.web.NdjsonStreamer;
+import com.inventory.web.SqlStatementBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+/**
+ * Delta sync for store terminals. A terminal records {@code GET /api/changes/head},
+ * copies the catalog and stock through the list endpoints, and from then on fetches
+ * {@code GET /api/changes?since=<last seq applied>}: one NDJSON line per changed row, in
+ * sequence order, to be applied as upserts and deletes by entity and id.
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLog changeLog;
+    private final NdjsonStreamer ndjsonStreamer;
+
+    @SqlStatementBudget(0)
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getChanges(@RequestParam(defaultValue = "0") long since) {
+        return ndjsonStreamer.stream(() -> changeLogRepository.streamSince(since), ChangeDTO::fromEntity);
+    }
+
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
+    @GetMapping("/head")
+    public ResponseEntity<Map<String, Long>> getHead() {
+        return ResponseEntity.ok(Map.of("seq", changeLog.head()));
+    }
+}
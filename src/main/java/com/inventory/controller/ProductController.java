@@ -1,123 +1,187 @@
 package com.inventory.controller;
 
+import com.inventory.dto.CategoryDTO;
+import com.inventory.dto.ErrorResponse;
 import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductRequest;
+import com.inventory.dto.StockDTO;
+import com.inventory.model.ChangeLogEntry;
 import com.inventory.model.Product;
-import com.inventory.repository.CategoryRepository;
 import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockRepository;
+import com.inventory.service.CatalogVersions;
+import com.inventory.service.ChangeLog;
+import com.inventory.service.DomainEvent;
+import com.inventory.service.Outbox;
+import com.inventory.service.ReferenceDataCache;
+import com.inventory.web.CursorPagination;
+import com.inventory.web.EntityTags;
+import com.inventory.web.ListResponseCache;
+import com.inventory.web.NdjsonStreamer;
+import com.inventory.web.SqlStatementBudget;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
-    private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
+    private static final ErrorResponse PRODUCT_NOT_FOUND = new ErrorResponse("Product not found");
 
+    private final ProductRepository productRepository;
+    private final StockRepository stockRepository;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final ReferenceDataCache referenceDataCache;
+    private final CatalogVersions catalogVersions;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+    private final ListResponseCache listResponseCache;
+
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<ProductDTO> products = productRepository.findAll()
-                .stream()
-                .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getAllProducts(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 ServletWebRequest request) {
+        long from = CursorPagination.after(after);
+        int pageSize = CursorPagination.limit(limit);
+        return listResponseCache.respond(CatalogVersions.Table.PRODUCTS, from, pageSize, request, () -> {
+            List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(
+                    from, CursorPagination.fetchLimit(pageSize));
+            return CursorPagination.page(products, pageSize, Product::getId, ProductDTO::fromEntity);
+        });
+    }
+
+    @SqlStatementBudget(0)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        return ndjsonStreamer.stream(productRepository::streamAllByOrderByIdAsc, ProductDTO::fromEntity);
     }
 
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<?> getProductById(@PathVariable Long id) {
-        return productRepository.findById(id)
-                .map(product -> ResponseEntity.ok(ProductDTO.fromEntity(product)))
+        return referenceDataCache.product(id)
+                .map(product -> ResponseEntity.ok().eTag(EntityTags.of(product.getVersion())).body(product))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
     }
 
+    @SqlStatementBudget(6)
+    @Transactional
     @PostMapping
-    public ResponseEntity<Object> createProduct(@RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-
-        String name = (String) request.get("name");
-        Long categoryId = request.get("category_id") != null
-                ? Long.valueOf(request.get("category_id").toString())
-                : null;
-
-        if (name == null || categoryId == null) {
-            response.put("message", "Product name and category_id are required");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        if (!categoryRepository.existsById(categoryId)) {
-            response.put("message", "Category with ID " + categoryId + " not found.");
-            return ResponseEntity.badRequest().body(response);
+    public ResponseEntity<Object> createProduct(@Valid @RequestBody ProductRequest request) {
+        if (!referenceDataCache.categoryExists(request.getCategoryId())) {
+            return categoryNotFound(request.getCategoryId());
         }
 
         Product product = new Product();
-        product.setName(name);
-        product.setBrand((String) request.get("brand"));
-        product.setDescription((String) request.get("description"));
-        if (request.get("warranty_months") != null) {
-            product.setWarrantyMonths(Integer.valueOf(request.get("warranty_months").toString()));
-        }
-        product.setCategoryId(categoryId);
+        product.setName(request.getName());
+        product.setBrand(request.getBrand());
+        product.setDescription(request.getDescription());
+        product.setWarrantyMonths(request.getWarrantyMonths());
+        product.setCategoryId(request.getCategoryId());
         product = productRepository.save(product);
+        ProductDTO created = withCategoryName(product);
+        catalogVersions.changed(CatalogVersions.Table.PRODUCTS);
+        changeLog.upsert(ChangeLogEntry.EntityType.PRODUCT, created.getId(), created);
+        outbox.publish(new DomainEvent.ProductChanged(created.getId(), created));
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(ProductDTO.fromEntity(product));
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // 8 when the product is renamed and its stock rows are logged again
+    @SqlStatementBudget(8)
+    @Transactional
     @PutMapping("/{id}")
-    public ResponseEntity<Object> updateProduct(@PathVariable Long id, @RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<Object> updateProduct(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @RequestBody ProductRequest request) {
         return productRepository.findById(id)
                 .map(product -> {
-                    if (request.containsKey("category_id")) {
-                        Long categoryId = Long.valueOf(request.get("category_id").toString());
-                        if (!categoryRepository.existsById(categoryId)) {
-                            response.put("message", "Category with ID " + categoryId + " not found.");
-                            return ResponseEntity.badRequest().body((Object) response);
+                    if (!EntityTags.matches(ifMatch, product.getVersion())) {
+                        return EntityTags.preconditionFailed(product.getVersion());
+                    }
+                    if (request.getCategoryId() != null) {
+                        if (!referenceDataCache.categoryExists(request.getCategoryId())) {
+                            return categoryNotFound(request.getCategoryId());
                         }
-                        product.setCategoryId(categoryId);
+                        product.setCategoryId(request.getCategoryId());
+                    }
+                    boolean renamed = request.getName() != null
+                            && !request.getName().equals(product.getName());
+                    if (request.getName() != null) {
+                        product.setName(request.getName());
                     }
-                    if (request.containsKey("name")) {
-                        product.setName((String) request.get("name"));
+                    if (request.getBrand() != null) {
+                        product.setBrand(request.getBrand());
                     }
-                    if (request.containsKey("brand")) {
-                        product.setBrand((String) request.get("brand"));
+                    if (request.getDescription() != null) {
+                        product.setDescription(request.getDescription());
                     }
-                    if (request.containsKey("description")) {
-                        product.setDescription((String) request.get("description"));
+                    if (request.getWarrantyMonths() != null) {
+                        product.setWarrantyMonths(request.getWarrantyMonths());
                     }
-                    if (request.containsKey("warranty_months")) {
-                        product.setWarrantyMonths(Integer.valueOf(request.get("warranty_months").toString()));
+                    productRepository.saveAndFlush(product);
+                    ProductDTO updated = withCategoryName(product);
+                    referenceDataCache.productChanged(id);
+                    catalogVersions.changed(CatalogVersions.Table.PRODUCTS);
+                    changeLog.upsert(ChangeLogEntry.EntityType.PRODUCT, id, updated);
+                    if (renamed) {
+                        // Stock rows carry the product name
+                        changeLog.upsertAll(ChangeLogEntry.EntityType.STOCK, stockRepository.findDtosByProductId(id),
+                                StockDTO::getId);
                     }
-                    productRepository.save(product);
-                    return ResponseEntity.ok((Object) ProductDTO.fromEntity(product));
+                    outbox.publish(new DomainEvent.ProductChanged(id, updated));
+                    return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body((Object) updated);
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Product not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(PRODUCT_NOT_FOUND));
     }
 
+    @SqlStatementBudget(5)
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteProduct(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
-
         return productRepository.findById(id)
                 .map(product -> {
                     productRepository.delete(product);
-                    response.put("message", "Product deleted successfully");
-                    return ResponseEntity.status(HttpStatus.NO_CONTENT).body((Object) response);
+                    referenceDataCache.productDeleted(id);
+                    catalogVersions.changed(CatalogVersions.Table.PRODUCTS);
+                    changeLog.deleted(ChangeLogEntry.EntityType.PRODUCT, id);
+                    outbox.publish(new DomainEvent.ProductChanged(id, null));
+                    return ResponseEntity.noContent().build();
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Product not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(PRODUCT_NOT_FOUND));
+    }
+
+    private static ResponseEntity<Object> categoryNotFound(Long categoryId) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("Category with ID " + categoryId + " not found."));
+    }
+
+    /**
+     * The category name is looked up rather than read through the association, which is
+     * not loaded for a new product and still points to the old category after a move.
+     */
+    private ProductDTO withCategoryName(Product product) {
+        ProductDTO dto = ProductDTO.fromEntity(product);
+        dto.setCategoryName(categoryName(product.getCategoryId()));
+        return dto;
+    }
+
+    private String categoryName(Long categoryId) {
+        return categoryId != null
+                ? referenceDataCache.category(categoryId).map(CategoryDTO::getName).orElse(null)
+                : null;
     }
 }
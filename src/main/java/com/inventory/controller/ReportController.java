@@ -0,0 +1,116 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ErrorResponse;
+import com.inventory.service.ReportService;
+import com.inventory.service.ReportService.SalesDimension;
+import com.inventory.service.ReportService.ValuationDimension;
+import com.inventory.web.NdjsonStreamer;
+import com.inventory.web.SqlStatementBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Reports, streamed as newline-delimited JSON, one aggregate row per line.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+    private final NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Quantity on hand valued at cost and selling price, by category, supplier or location.
+     */
+    @SqlStatementBudget(0)
+    @GetMapping("/valuation")
+    public ResponseEntity<StreamingResponseBody> getValuation(
+            @RequestParam(defaultValue = "category") String by,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) String location) {
+        ValuationDimension dimension = dimension(ValuationDimension.class, by, "category, supplier, location");
+        return ndjsonStreamer.stream(() -> reportService.valuation(dimension, categoryId, supplierId, location));
+    }
+
+    /**
+     * Quantity on hand per product.
+     */
+    @SqlStatementBudget(0)
+    @GetMapping("/on-hand")
+    public ResponseEntity<StreamingResponseBody> getOnHand(@RequestParam(required = false) Long categoryId) {
+        return ndjsonStreamer.stream(() -> reportService.onHand(categoryId));
+    }
+
+    /**
+     * Units sold, revenue, cost and margin per product.
+     */
+    @SqlStatementBudget(0)
+    @GetMapping("/margins")
+    public ResponseEntity<StreamingResponseBody> getMargins(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId) {
+        checkRange(from, to);
+        return ndjsonStreamer.stream(() -> reportService.margins(from, to, categoryId, supplierId));
+    }
+
+    /**
+     * Number of sales and their total amount by day or by client.
+     */
+    @SqlStatementBudget(0)
+    @GetMapping("/sales")
+    public ResponseEntity<StreamingResponseBody> getSales(
+            @RequestParam(defaultValue = "day") String by,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long clientId) {
+        SalesDimension dimension = dimension(SalesDimension.class, by, "day, client");
+        checkRange(from, to);
+        return switch (dimension) {
+            case DAY -> ndjsonStreamer.stream(() -> reportService.salesByDay(from, to, clientId));
+            case CLIENT -> ndjsonStreamer.stream(() -> reportService.salesByClient(from, to, clientId));
+        };
+    }
+
+    /**
+     * Invalid parameters are rejected before anything is streamed.
+     */
+    @ExceptionHandler({IllegalArgumentException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidParameter(Exception e) {
+        String message = e instanceof MethodArgumentTypeMismatchException mismatch
+                ? mismatch.getName() + " is not valid."
+                : e.getMessage();
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse(message));
+    }
+
+    private static <E extends Enum<E>> E dimension(Class<E> type, String by, String allowed) {
+        try {
+            return Enum.valueOf(type, by.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("by must be one of " + allowed + ".");
+        }
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to.");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ErrorResponse;
+import com.inventory.dto.InsufficientStockResponse;
+import com.inventory.dto.SaleDTO;
+import com.inventory.dto.SaleRequest;
+import com.inventory.service.InsufficientStockException;
+import com.inventory.service.SaleService;
+import com.inventory.service.SaleValidationException;
+import com.inventory.web.SqlStatementBudget;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sales")
+@RequiredArgsConstructor
+public class SaleController {
+
+    private final SaleService saleService;
+
+    // 15 for a stock line and a product line. Each further line adds a decrement per batch it
+    // takes, and a product line a batch load when not yet indexed; ~15 lines fit
+    @SqlStatementBudget(50)
+    @PostMapping
+    public ResponseEntity<SaleDTO> createSale(@Valid @RequestBody SaleRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(saleService.checkout(request));
+    }
+
+    @ExceptionHandler(SaleValidationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSale(SaleValidationException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<InsufficientStockResponse> handleInsufficientStock(InsufficientStockException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new InsufficientStockResponse(e.getMessage(), e.getStockId(), e.getProductId()));
+    }
+}
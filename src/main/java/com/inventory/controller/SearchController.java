@@ -0,0 +1,69 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ErrorResponse;
+import com.inventory.dto.SearchHitDTO;
+import com.inventory.service.CatalogSearch;
+import com.inventory.web.SqlStatementBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Catalog search. Results are ranked, so pages are addressed by {@code offset}; the
+ * offset of the next page is returned in the {@code X-Next-Offset} header (absent on
+ * the last page).
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    public static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_OFFSET = 10_000;
+
+    private static final Set<String> TYPES = Set.of(CatalogSearch.PRODUCT, CatalogSearch.SUPPLIER);
+    private static final ErrorResponse Q_REQUIRED = new ErrorResponse("q is required");
+    private static final ErrorResponse INVALID_TYPE = new ErrorResponse("type must be product or supplier");
+    private static final ErrorResponse INVALID_OFFSET =
+            new ErrorResponse("offset must be between 0 and " + MAX_OFFSET);
+
+    private final CatalogSearch catalogSearch;
+
+    @SqlStatementBudget(0)
+    @GetMapping
+    public ResponseEntity<Object> search(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(required = false) Integer offset,
+                                         @RequestParam(required = false) Integer limit) throws IOException {
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().body(Q_REQUIRED);
+        }
+        if (type != null && !TYPES.contains(type)) {
+            return ResponseEntity.badRequest().body(INVALID_TYPE);
+        }
+        int from = offset != null ? offset : 0;
+        if (from < 0 || from > MAX_OFFSET) {
+            return ResponseEntity.badRequest()
+                    .body(INVALID_OFFSET);
+        }
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        // One extra hit tells whether there is a next page
+        List<SearchHitDTO> hits = catalogSearch.search(q, type, from, pageSize + 1);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            response.header(NEXT_OFFSET_HEADER, String.valueOf(from + pageSize));
+        }
+        return response.body(hits);
+    }
+}
@@ -1,182 +1,247 @@
 package com.inventory.controller;
 
+import com.inventory.config.SqlStatementCounter;
+import com.inventory.dto.ErrorResponse;
+import com.inventory.dto.StockAdjustmentRequest;
 import com.inventory.dto.StockDTO;
+import com.inventory.dto.StockRequest;
+import com.inventory.model.ChangeLogEntry;
 import com.inventory.model.Stock;
-import com.inventory.repository.ProductRepository;
 import com.inventory.repository.StockRepository;
-import com.inventory.repository.SupplierRepository;
-import com.inventory.repository.UserRepository;
+import com.inventory.service.AllocationPlan;
+import com.inventory.service.ChangeLog;
+import com.inventory.service.DomainEvent;
+import com.inventory.service.InsufficientStockException;
+import com.inventory.service.InventoryMetrics;
+import com.inventory.service.InventoryRollups;
+import com.inventory.service.Outbox;
+import com.inventory.service.ReferenceDataCache;
+import com.inventory.service.StockAdjustments;
+import com.inventory.service.StockAllocator;
+import com.inventory.service.StockImportService;
+import com.inventory.web.CursorPagination;
+import com.inventory.web.EntityTags;
+import com.inventory.web.NdjsonStreamer;
+import com.inventory.web.SqlStatementBudget;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/stocks")
 @RequiredArgsConstructor
 public class StockController {
 
-    private final StockRepository stockRepository;
-    private final ProductRepository productRepository;
-    private final SupplierRepository supplierRepository;
-    private final UserRepository userRepository;
+    private static final ErrorResponse STOCK_NOT_FOUND = new ErrorResponse("Stock item not found");
 
+    private final StockRepository stockRepository;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final StockAllocator stockAllocator;
+    private final StockImportService stockImportService;
+    private final ReferenceDataCache referenceDataCache;
+    private final InventoryMetrics inventoryMetrics;
+    private final InventoryRollups inventoryRollups;
+    private final StockAdjustments stockAdjustments;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<StockDTO>> getAllStocks() {
-        List<StockDTO> stocks = stockRepository.findAll()
-                .stream()
-                .map(StockDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<List<StockDTO>> getAllStocks(@RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPagination.limit(limit);
+        List<StockDTO> stocks = stockRepository.findDtoPage(
+                CursorPagination.after(after), CursorPagination.fetchLimit(pageSize));
+        return CursorPagination.page(stocks, pageSize, StockDTO::getId, Function.identity());
+    }
+
+    @SqlStatementBudget(0)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStocks() {
+        return ndjsonStreamer.stream(stockRepository::streamAllDtos);
     }
 
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
+    @GetMapping("/allocation")
+    public ResponseEntity<AllocationPlan> getAllocation(@RequestParam("product_id") Long productId,
+                                                        @RequestParam int quantity) {
+        return ResponseEntity.ok(stockAllocator.allocate(productId, quantity));
+    }
+
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<?> getStockById(@PathVariable Long id) {
-        return stockRepository.findById(id)
-                .map(stock -> ResponseEntity.ok(StockDTO.fromEntity(stock)))
+        return stockRepository.findDtoById(id)
+                .map(stock -> ResponseEntity.ok().eTag(EntityTags.of(stock.getVersion())).body(stock))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
     }
 
+    @SqlStatementBudget(10)
+    @Transactional
     @PostMapping
-    public ResponseEntity<Object> createStock(@RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-
-        // Validate required fields
-        String[] requiredFields = {"product_id", "supplier_id", "quantity", "selling_price", "deposited_by_user_id"};
-        for (String field : requiredFields) {
-            if (!request.containsKey(field)) {
-                response.put("message", "Missing required fields: product_id, supplier_id, quantity, selling_price, deposited_by_user_id");
-                return ResponseEntity.badRequest().body(response);
-            }
-        }
-
-        Long productId = Long.valueOf(request.get("product_id").toString());
-        Long supplierId = Long.valueOf(request.get("supplier_id").toString());
-        Long depositedByUserId = Long.valueOf(request.get("deposited_by_user_id").toString());
-
+    public ResponseEntity<Object> createStock(@Valid @RequestBody StockRequest request) {
         // Validate foreign keys
-        if (!productRepository.existsById(productId)) {
-            response.put("message", "Product with ID " + productId + " not found.");
-            return ResponseEntity.badRequest().body(response);
+        if (!referenceDataCache.productExists(request.getProductId())) {
+            return missingReference("Product", request.getProductId());
         }
-        if (!supplierRepository.existsById(supplierId)) {
-            response.put("message", "Supplier with ID " + supplierId + " not found.");
-            return ResponseEntity.badRequest().body(response);
+        if (!referenceDataCache.supplierExists(request.getSupplierId())) {
+            return missingReference("Supplier", request.getSupplierId());
         }
-        if (!userRepository.existsById(depositedByUserId)) {
-            response.put("message", "User with ID " + depositedByUserId + " not found.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        // Parse expiration date if provided
-        LocalDate expirationDate = null;
-        if (request.get("expiration_date") != null) {
-            try {
-                expirationDate = LocalDate.parse(request.get("expiration_date").toString(),
-                        DateTimeFormatter.ISO_LOCAL_DATE);
-            } catch (DateTimeParseException e) {
-                response.put("message", "Invalid date format for expiration_date. Use YYYY-MM-DD.");
-                return ResponseEntity.badRequest().body(response);
-            }
+        if (!referenceDataCache.userExists(request.getDepositedByUserId())) {
+            return missingReference("User", request.getDepositedByUserId());
         }
 
         Stock stock = new Stock();
-        stock.setProductId(productId);
-        stock.setSupplierId(supplierId);
-        stock.setQuantity(Integer.valueOf(request.get("quantity").toString()));
-        stock.setSellingPrice(new BigDecimal(request.get("selling_price").toString()));
-        stock.setDepositedByUserId(depositedByUserId);
-        stock.setLocation((String) request.get("location"));
-        if (request.get("cost_price") != null) {
-            stock.setCostPrice(new BigDecimal(request.get("cost_price").toString()));
-        }
-        stock.setExpirationDate(expirationDate);
-
-        stock = stockRepository.save(stock);
+        stock.setProductId(request.getProductId());
+        stock.setSupplierId(request.getSupplierId());
+        stock.setQuantity(request.getQuantity());
+        stock.setSellingPrice(request.getSellingPrice());
+        stock.setDepositedByUserId(request.getDepositedByUserId());
+        stock.setLocation(request.getLocation());
+        stock.setCostPrice(request.getCostPrice());
+        stock.setExpirationDate(request.getExpirationDate());
+
+        stock = stockRepository.saveAndFlush(stock);
+        stockAllocator.stockSaved(stock);
+        inventoryRollups.stockSaved(stock);
+        inventoryMetrics.stockDeposited(1, stock.getQuantity());
+        // Read back for the product, supplier and depositor names, which the new entity does not load
+        StockDTO created = stockRepository.findDtoById(stock.getId()).orElseThrow();
+        changeLog.upsert(ChangeLogEntry.EntityType.STOCK, created.getId(), created);
+        outbox.publish(new DomainEvent.StockDeposited(stock.getId(), stock.getProductId(),
+                stock.getExpirationDate(), stock.getQuantity()));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(StockDTO.fromEntity(stock));
+    @SqlStatementBudget(SqlStatementCounter.UNLIMITED)
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> bulkCreateStocks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) throws IOException {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return ResponseEntity.ok(stockImportService.importNdjson(body));
+        }
+        return ResponseEntity.ok(stockImportService.importCsv(body));
     }
 
+    @SqlStatementBudget(11)
+    @Transactional
     @PutMapping("/{id}")
-    public ResponseEntity<Object> updateStock(@PathVariable Long id, @RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<Object> updateStock(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody StockRequest request) {
         return stockRepository.findById(id)
                 .map(stock -> {
-                    // Validate foreign key updates
-                    if (request.containsKey("product_id")) {
-                        Long productId = Long.valueOf(request.get("product_id").toString());
-                        if (!productRepository.existsById(productId)) {
-                            response.put("message", "Product with ID " + productId + " not found.");
-                            return ResponseEntity.badRequest().body((Object) response);
-                        }
+                    if (!EntityTags.matches(ifMatch, stock.getVersion())) {
+                        return EntityTags.preconditionFailed(stock.getVersion());
+                    }
+                    Long previousProductId = stock.getProductId();
+                    LocalDate previousExpirationDate = stock.getExpirationDate();
+                    int previousQuantity = stock.getQuantity();
+
+                    // Validate foreign key updates before changing anything: the entity is managed by the
+                    // transaction, so a half-applied update would be flushed even though a 400 is returned
+                    Long productId = request.getProductId();
+                    Long supplierId = request.getSupplierId();
+                    Long userId = request.getDepositedByUserId();
+                    if (productId != null && !referenceDataCache.productExists(productId)) {
+                        return missingReference("Product", productId);
+                    }
+                    if (supplierId != null && !referenceDataCache.supplierExists(supplierId)) {
+                        return missingReference("Supplier", supplierId);
+                    }
+                    if (userId != null && !referenceDataCache.userExists(userId)) {
+                        return missingReference("User", userId);
+                    }
+                    if (productId != null) {
                         stock.setProductId(productId);
                     }
-                    if (request.containsKey("supplier_id")) {
-                        Long supplierId = Long.valueOf(request.get("supplier_id").toString());
-                        if (!supplierRepository.existsById(supplierId)) {
-                            response.put("message", "Supplier with ID " + supplierId + " not found.");
-                            return ResponseEntity.badRequest().body((Object) response);
-                        }
+                    if (supplierId != null) {
                         stock.setSupplierId(supplierId);
                     }
-                    if (request.containsKey("deposited_by_user_id")) {
-                        Long userId = Long.valueOf(request.get("deposited_by_user_id").toString());
-                        if (!userRepository.existsById(userId)) {
-                            response.put("message", "User with ID " + userId + " not found.");
-                            return ResponseEntity.badRequest().body((Object) response);
-                        }
+                    if (userId != null) {
                         stock.setDepositedByUserId(userId);
                     }
 
                     // Update other fields
-                    if (request.containsKey("quantity")) {
-                        stock.setQuantity(Integer.valueOf(request.get("quantity").toString()));
+                    if (request.getQuantity() != null) {
+                        stock.setQuantity(request.getQuantity());
                     }
-                    if (request.containsKey("selling_price")) {
-                        stock.setSellingPrice(new BigDecimal(request.get("selling_price").toString()));
+                    if (request.getSellingPrice() != null) {
+                        stock.setSellingPrice(request.getSellingPrice());
                     }
-                    if (request.containsKey("location")) {
-                        stock.setLocation((String) request.get("location"));
+                    if (request.getLocation() != null) {
+                        stock.setLocation(request.getLocation());
                     }
-                    if (request.containsKey("cost_price")) {
-                        stock.setCostPrice(new BigDecimal(request.get("cost_price").toString()));
+                    if (request.getCostPrice() != null) {
+                        stock.setCostPrice(request.getCostPrice());
                     }
-                    if (request.containsKey("expiration_date")) {
-                        stock.setExpirationDate(LocalDate.parse(request.get("expiration_date").toString()));
+                    if (request.getExpirationDate() != null) {
+                        stock.setExpirationDate(request.getExpirationDate());
                     }
 
-                    stockRepository.save(stock);
-                    return ResponseEntity.ok((Object) StockDTO.fromEntity(stock));
+                    // Flushed here so a concurrent update fails this request and the new version is returned
+                    stockRepository.saveAndFlush(stock);
+                    stockAllocator.stockUpdated(previousProductId, stock);
+                    inventoryRollups.stockUpdated(previousProductId, previousQuantity, stock);
+                    // Read back: the associations still hold the names from before a product or supplier change
+                    StockDTO updated = stockRepository.findDtoById(id).orElseThrow();
+                    changeLog.upsert(ChangeLogEntry.EntityType.STOCK, id, updated);
+                    outbox.publish(new DomainEvent.StockAdjusted(id,
+                            previousProductId, previousExpirationDate, previousQuantity,
+                            stock.getProductId(), stock.getExpirationDate(), stock.getQuantity()));
+                    return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body((Object) updated);
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Stock item not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(STOCK_NOT_FOUND));
     }
 
+    // 7 when the first attempt succeeds, 2 more for each attempt retried after a conflict
+    @SqlStatementBudget(11)
+    @PostMapping("/{id}/adjustments")
+    public ResponseEntity<Object> adjustStock(@PathVariable Long id, @Valid @RequestBody StockAdjustmentRequest request) {
+        try {
+            return stockAdjustments.adjust(id, request.getDelta())
+                    .map(stock -> ResponseEntity.ok().eTag(EntityTags.of(stock.getVersion())).body((Object) stock))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(STOCK_NOT_FOUND));
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @SqlStatementBudget(6)
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteStock(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
-
         return stockRepository.findById(id)
                 .map(stock -> {
                     stockRepository.delete(stock);
-                    response.put("message", "Stock item deleted successfully");
-                    return ResponseEntity.status(HttpStatus.NO_CONTENT).body((Object) response);
+                    stockAllocator.stockDeleted(stock);
+                    inventoryRollups.stockDeleted(stock);
+                    changeLog.deleted(ChangeLogEntry.EntityType.STOCK, id);
+                    outbox.publish(new DomainEvent.StockAdjusted(id,
+                            stock.getProductId(), stock.getExpirationDate(), stock.getQuantity(),
+                            stock.getProductId(), stock.getExpirationDate(), 0));
+                    return ResponseEntity.noContent().build();
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Stock item not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(STOCK_NOT_FOUND));
+    }
+
+    private static ResponseEntity<Object> missingReference(String entity, Long id) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(entity + " with ID " + id + " not found."));
     }
 }
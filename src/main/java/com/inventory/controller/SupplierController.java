@@ -1,112 +1,164 @@
 package com.inventory.controller;
 
+import com.inventory.dto.ErrorResponse;
+import com.inventory.dto.StockDTO;
 import com.inventory.dto.SupplierDTO;
+import com.inventory.dto.SupplierRequest;
+import com.inventory.model.ChangeLogEntry;
 import com.inventory.model.Supplier;
+import com.inventory.repository.StockRepository;
 import com.inventory.repository.SupplierRepository;
+import com.inventory.service.CatalogVersions;
+import com.inventory.service.ChangeLog;
+import com.inventory.service.DomainEvent;
+import com.inventory.service.Outbox;
+import com.inventory.service.ReferenceDataCache;
+import com.inventory.web.CursorPagination;
+import com.inventory.web.EntityTags;
+import com.inventory.web.ListResponseCache;
+import com.inventory.web.NdjsonStreamer;
+import com.inventory.web.SqlStatementBudget;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/suppliers")
 @RequiredArgsConstructor
 public class SupplierController {
 
+    private static final ErrorResponse SUPPLIER_NOT_FOUND = new ErrorResponse("Supplier not found");
+
     private final SupplierRepository supplierRepository;
+    private final StockRepository stockRepository;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final ReferenceDataCache referenceDataCache;
+    private final CatalogVersions catalogVersions;
+    private final ChangeLog changeLog;
+    private final ListResponseCache listResponseCache;
+    private final Outbox outbox;
 
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<SupplierDTO>> getAllSuppliers() {
-        List<SupplierDTO> suppliers = supplierRepository.findAll()
-                .stream()
-                .map(SupplierDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(suppliers);
+    public ResponseEntity<byte[]> getAllSuppliers(@RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  ServletWebRequest request) {
+        long from = CursorPagination.after(after);
+        int pageSize = CursorPagination.limit(limit);
+        return listResponseCache.respond(CatalogVersions.Table.SUPPLIERS, from, pageSize, request, () -> {
+            List<Supplier> suppliers = supplierRepository.findByIdGreaterThanOrderByIdAsc(
+                    from, CursorPagination.fetchLimit(pageSize));
+            return CursorPagination.page(suppliers, pageSize, Supplier::getId, SupplierDTO::fromEntity);
+        });
+    }
+
+    @SqlStatementBudget(0)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSuppliers() {
+        return ndjsonStreamer.stream(supplierRepository::streamAllByOrderByIdAsc, SupplierDTO::fromEntity);
     }
 
+    @SqlStatementBudget(1)
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<?> getSupplierById(@PathVariable Long id) {
-        return supplierRepository.findById(id)
-                .map(supplier -> ResponseEntity.ok(SupplierDTO.fromEntity(supplier)))
+        return referenceDataCache.supplier(id)
+                .map(supplier -> ResponseEntity.ok().eTag(EntityTags.of(supplier.getVersion())).body(supplier))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
     }
 
+    @SqlStatementBudget(5)
+    @Transactional
     @PostMapping
-    public ResponseEntity<Object> createSupplier(@RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-        String name = (String) request.get("name");
-
-        if (name == null || name.isEmpty()) {
-            response.put("message", "Supplier name is required");
-            return ResponseEntity.badRequest().body(response);
-        }
-
+    public ResponseEntity<Object> createSupplier(@Valid @RequestBody SupplierRequest request) {
         Supplier supplier = new Supplier();
-        supplier.setName(name);
-        supplier.setContactPerson((String) request.get("contact_person"));
-        supplier.setPhone((String) request.get("phone"));
-        supplier.setEmail((String) request.get("email"));
-        supplier.setAddress((String) request.get("address"));
-        if (request.get("additional_fees") != null) {
-            supplier.setAdditionalFees(new BigDecimal(request.get("additional_fees").toString()));
-        }
+        supplier.setName(request.getName());
+        supplier.setContactPerson(request.getContactPerson());
+        supplier.setPhone(request.getPhone());
+        supplier.setEmail(request.getEmail());
+        supplier.setAddress(request.getAddress());
+        supplier.setAdditionalFees(request.getAdditionalFees());
         supplier = supplierRepository.save(supplier);
+        SupplierDTO created = SupplierDTO.fromEntity(supplier);
+        referenceDataCache.supplierChanged(created);
+        changeLog.upsert(ChangeLogEntry.EntityType.SUPPLIER, created.getId(), created);
+        catalogVersions.changed(CatalogVersions.Table.SUPPLIERS);
+        outbox.publish(new DomainEvent.SupplierChanged(created.getId(), created.getName()));
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(SupplierDTO.fromEntity(supplier));
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // 7 when the supplier is renamed and its stock rows are logged again
+    @SqlStatementBudget(7)
+    @Transactional
     @PutMapping("/{id}")
-    public ResponseEntity<Object> updateSupplier(@PathVariable Long id, @RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<Object> updateSupplier(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody SupplierRequest request) {
         return supplierRepository.findById(id)
                 .map(supplier -> {
-                    if (request.containsKey("name")) {
-                        supplier.setName((String) request.get("name"));
+                    if (!EntityTags.matches(ifMatch, supplier.getVersion())) {
+                        return EntityTags.preconditionFailed(supplier.getVersion());
+                    }
+                    boolean renamed = request.getName() != null
+                            && !request.getName().equals(supplier.getName());
+                    if (request.getName() != null) {
+                        supplier.setName(request.getName());
                     }
-                    if (request.containsKey("contact_person")) {
-                        supplier.setContactPerson((String) request.get("contact_person"));
+                    if (request.getContactPerson() != null) {
+                        supplier.setContactPerson(request.getContactPerson());
                     }
-                    if (request.containsKey("phone")) {
-                        supplier.setPhone((String) request.get("phone"));
+                    if (request.getPhone() != null) {
+                        supplier.setPhone(request.getPhone());
                     }
-                    if (request.containsKey("email")) {
-                        supplier.setEmail((String) request.get("email"));
+                    if (request.getEmail() != null) {
+                        supplier.setEmail(request.getEmail());
                     }
-                    if (request.containsKey("address")) {
-                        supplier.setAddress((String) request.get("address"));
+                    if (request.getAddress() != null) {
+                        supplier.setAddress(request.getAddress());
                     }
-                    if (request.containsKey("additional_fees")) {
-                        supplier.setAdditionalFees(new BigDecimal(request.get("additional_fees").toString()));
+                    if (request.getAdditionalFees() != null) {
+                        supplier.setAdditionalFees(request.getAdditionalFees());
                     }
-                    supplierRepository.save(supplier);
-                    return ResponseEntity.ok((Object) SupplierDTO.fromEntity(supplier));
+                    supplierRepository.saveAndFlush(supplier);
+                    SupplierDTO updated = SupplierDTO.fromEntity(supplier);
+                    referenceDataCache.supplierChanged(updated);
+                    changeLog.upsert(ChangeLogEntry.EntityType.SUPPLIER, id, updated);
+                    if (renamed) {
+                        // Stock rows carry the supplier name
+                        changeLog.upsertAll(ChangeLogEntry.EntityType.STOCK, stockRepository.findDtosBySupplierId(id),
+                                StockDTO::getId);
+                    }
+                    catalogVersions.changed(CatalogVersions.Table.SUPPLIERS);
+                    outbox.publish(new DomainEvent.SupplierChanged(id, updated.getName()));
+                    return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body((Object) updated);
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Supplier not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(SUPPLIER_NOT_FOUND));
     }
 
+    @SqlStatementBudget(5)
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteSupplier(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
-
         return supplierRepository.findById(id)
                 .map(supplier -> {
                     supplierRepository.delete(supplier);
-                    response.put("message", "Supplier deleted successfully");
-                    return ResponseEntity.status(HttpStatus.NO_CONTENT).body((Object) response);
+                    referenceDataCache.supplierDeleted(id);
+                    changeLog.deleted(ChangeLogEntry.EntityType.SUPPLIER, id);
+                    catalogVersions.changed(CatalogVersions.Table.SUPPLIERS);
+                    outbox.publish(new DomainEvent.SupplierDeleted(id));
+                    return ResponseEntity.noContent().build();
                 })
-                .orElseGet(() -> {
-                    response.put("message", "Supplier not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                });
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(SUPPLIER_NOT_FOUND));
     }
 }
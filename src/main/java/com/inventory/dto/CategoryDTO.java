@@ -8,12 +8,14 @@ public class CategoryDTO {
     private Long id;
     private String name;
     private String description;
+    private Long version;
 
     public static CategoryDTO fromEntity(Category category) {
         CategoryDTO dto = new CategoryDTO();
         dto.setId(category.getId());
         dto.setName(category.getName());
         dto.setDescription(category.getDescription());
+        dto.setVersion(category.getVersion());
         return dto;
     }
 }
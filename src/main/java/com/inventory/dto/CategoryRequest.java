@@ -0,0 +1,16 @@
+package com.inventory.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+/**
+ * Body of {@code POST} and {@code PUT /api/categories}. The constraints are those of a
+ * new category; an update leaves null fields unchanged.
+ */
+@Data
+public class CategoryRequest {
+    @NotEmpty(message = "Category name is required")
+    private String name;
+
+    private String description;
+}
@@ -0,0 +1,33 @@
+package com.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.inventory.model.ChangeLogEntry;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of {@code GET /api/changes}. For {@code UPSERT} the payload is the row as
+ * returned by its own endpoint; for {@code DELETE} it is null.
+ */
+@Data
+public class ChangeDTO {
+    private Long seq;
+    private ChangeLogEntry.EntityType entity;
+    private Long id;
+    private ChangeLogEntry.Op op;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime changedAt;
+
+    public static ChangeDTO fromEntity(ChangeLogEntry entry) {
+        ChangeDTO dto = new ChangeDTO();
+        dto.setSeq(entry.getSeq());
+        dto.setEntity(entry.getEntity());
+        dto.setId(entry.getEntityId());
+        dto.setOp(entry.getOp());
+        dto.setPayload(entry.getPayload());
+        dto.setChangedAt(entry.getChangedAt());
+        return dto;
+    }
+}
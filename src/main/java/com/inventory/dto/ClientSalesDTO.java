@@ -0,0 +1,22 @@
+package com.inventory.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class ClientSalesDTO {
+    private Long clientId;
+    private String clientName;
+    private Long sales;
+    private String totalAmount;
+
+    public ClientSalesDTO(Long clientId, String clientName, Long sales, BigDecimal totalAmount) {
+        this.clientId = clientId;
+        this.clientName = clientName;
+        this.sales = sales;
+        this.totalAmount = ReportAmounts.format(totalAmount);
+    }
+}
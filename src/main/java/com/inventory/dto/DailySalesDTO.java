@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class DailySalesDTO {
+    private String day;
+    private Long sales;
+    private String totalAmount;
+
+    public DailySalesDTO(String day, Long sales, BigDecimal totalAmount) {
+        this.day = day;
+        this.sales = sales;
+        this.totalAmount = ReportAmounts.format(totalAmount);
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.dto;
+
+import lombok.Data;
+
+/**
+ * The {@code {"message": ...}} body of a rejected request.
+ */
+@Data
+public class ErrorResponse {
+    private final String message;
+}
@@ -0,0 +1,21 @@
+package com.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * The 409 body of a checkout that would oversell: the message and either the stock
+ * item or the product whose line could not be covered.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InsufficientStockResponse {
+    private final String message;
+
+    @JsonProperty("stock_id")
+    private final Long stockId;
+
+    @JsonProperty("product_id")
+    private final Long productId;
+}
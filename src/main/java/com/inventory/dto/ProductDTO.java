@@ -12,6 +12,7 @@ public class ProductDTO {
     private Integer warrantyMonths;
     private Long categoryId;
     private String categoryName;
+    private Long version;
 
     public static ProductDTO fromEntity(Product product) {
         ProductDTO dto = new ProductDTO();
@@ -24,6 +25,7 @@ public class ProductDTO {
         if (product.getCategory() != null) {
             dto.setCategoryName(product.getCategory().getName());
         }
+        dto.setVersion(product.getVersion());
         return dto;
     }
 }
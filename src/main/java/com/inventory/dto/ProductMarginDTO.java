@@ -0,0 +1,32 @@
+package com.inventory.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Units sold of one product with the revenue at the recorded unit prices (before
+ * sale discounts), their cost, and the margin. Cost and margin only cover units
+ * taken from stock with a cost price.
+ */
+@Data
+@NoArgsConstructor
+public class ProductMarginDTO {
+    private Long productId;
+    private String productName;
+    private Long unitsSold;
+    private String revenue;
+    private String cost;
+    private String margin;
+
+    public ProductMarginDTO(Long productId, String productName, Long unitsSold,
+                            BigDecimal revenue, BigDecimal cost, BigDecimal margin) {
+        this.productId = productId;
+        this.productName = productName;
+        this.unitsSold = unitsSold;
+        this.revenue = ReportAmounts.format(revenue);
+        this.cost = ReportAmounts.format(cost);
+        this.margin = ReportAmounts.format(margin);
+    }
+}
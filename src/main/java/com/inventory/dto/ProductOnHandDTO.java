@@ -0,0 +1,14 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductOnHandDTO {
+    private Long productId;
+    private String productName;
+    private Long quantity;
+}
@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Body of {@code POST} and {@code PUT /api/products}. The constraints are those of a
+ * new product; an update leaves null fields unchanged.
+ */
+@Data
+public class ProductRequest {
+    @NotNull(message = "Product name and category_id are required")
+    private String name;
+
+    private String brand;
+    private String description;
+
+    @JsonProperty("warranty_months")
+    private Integer warrantyMonths;
+
+    @NotNull(message = "Product name and category_id are required")
+    @JsonProperty("category_id")
+    private Long categoryId;
+}
@@ -0,0 +1,18 @@
+package com.inventory.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+final class ReportAmounts {
+
+    private ReportAmounts() {
+    }
+
+    /**
+     * Money sums as strings with two decimals, like the other DTOs' amounts. SQLite
+     * sums numeric columns as floating point, hence the rounding.
+     */
+    static String format(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : null;
+    }
+}
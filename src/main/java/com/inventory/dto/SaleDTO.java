@@ -0,0 +1,52 @@
+package com.inventory.dto;
+
+import com.inventory.model.Sale;
+import com.inventory.model.SaleItem;
+import lombok.Data;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+public class SaleDTO {
+    private Long id;
+    private Long clientId;
+    private Long userId;
+    private String saleDate;
+    private String totalAmount;
+    private String discountApplied;
+    private String paymentMethod;
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+        private Long stockId;
+        private Integer quantitySold;
+        private String unitPriceAtSale;
+    }
+
+    public static SaleDTO fromEntity(Sale sale, List<SaleItem> saleItems) {
+        SaleDTO dto = new SaleDTO();
+        dto.setId(sale.getId());
+        dto.setClientId(sale.getClientId());
+        dto.setUserId(sale.getUserId());
+        if (sale.getSaleDate() != null) {
+            dto.setSaleDate(sale.getSaleDate().toString());
+        }
+        dto.setTotalAmount(sale.getTotalAmount().toString());
+        if (sale.getDiscountApplied() != null) {
+            dto.setDiscountApplied(sale.getDiscountApplied().toString());
+        }
+        dto.setPaymentMethod(sale.getPaymentMethod());
+        dto.setItems(saleItems.stream()
+                .map(saleItem -> {
+                    Item item = new Item();
+                    item.setStockId(saleItem.getStockId());
+                    item.setQuantitySold(saleItem.getQuantitySold());
+                    item.setUnitPriceAtSale(saleItem.getUnitPriceAtSale().toString());
+                    return item;
+                })
+                .collect(Collectors.toList()));
+        return dto;
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class SaleRequest {
+    @NotNull(message = "client_id is required")
+    @JsonProperty("client_id")
+    private Long clientId;
+
+    @NotNull(message = "user_id is required")
+    @JsonProperty("user_id")
+    private Long userId;
+
+    @NotBlank(message = "payment_method is required")
+    @JsonProperty("payment_method")
+    private String paymentMethod;
+
+    @DecimalMin(value = "0", message = "discount_applied must be between 0 and 99.99")
+    @DecimalMax(value = "99.99", message = "discount_applied must be between 0 and 99.99")
+    @JsonProperty("discount_applied")
+    private BigDecimal discountApplied;
+
+    @NotEmpty(message = "A sale needs at least one item")
+    @Valid
+    private List<Item> items;
+
+    /**
+     * A line names either a stock batch ({@code stock_id}) or a product
+     * ({@code product_id}), in which case batches are allocated first-expiry-first-out.
+     */
+    @Data
+    public static class Item {
+        @JsonProperty("stock_id")
+        private Long stockId;
+
+        @JsonProperty("product_id")
+        private Long productId;
+
+        @NotNull(message = "quantity is required")
+        @Positive(message = "quantity must be positive")
+        private Integer quantity;
+
+        @JsonIgnore
+        @AssertTrue(message = "Each item needs exactly one of stock_id or product_id")
+        public boolean isTargetValid() {
+            return (stockId == null) != (productId == null);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product or supplier matching a search; brand and category are only set for products.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDTO {
+    private String type;
+    private Long id;
+    private String name;
+    private String brand;
+    private String category;
+    private float score;
+}
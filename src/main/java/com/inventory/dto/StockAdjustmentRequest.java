@@ -0,0 +1,14 @@
+package com.inventory.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Body of {@code POST /api/stocks/{id}/adjustments}: the change in quantity,
+ * negative to take units away.
+ */
+@Data
+public class StockAdjustmentRequest {
+    @NotNull(message = "delta is required")
+    private Integer delta;
+}
@@ -2,8 +2,14 @@ package com.inventory.dto;
 
 import com.inventory.model.Stock;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class StockDTO {
     private Long id;
     private Long productId;
@@ -18,34 +24,53 @@ public class StockDTO {
     private String productName;
     private String supplierName;
     private String depositorUsername;
+    private Long version;
 
-    public static StockDTO fromEntity(Stock stock) {
-        StockDTO dto = new StockDTO();
-        dto.setId(stock.getId());
-        dto.setProductId(stock.getProductId());
-        dto.setSupplierId(stock.getSupplierId());
-        dto.setLocation(stock.getLocation());
-        dto.setQuantity(stock.getQuantity());
-        if (stock.getCostPrice() != null) {
-            dto.setCostPrice(stock.getCostPrice().toString());
-        }
-        dto.setSellingPrice(stock.getSellingPrice().toString());
-        dto.setDepositedByUserId(stock.getDepositedByUserId());
-        if (stock.getDepositedAt() != null) {
-            dto.setDepositedAt(stock.getDepositedAt().toString());
-        }
-        if (stock.getExpirationDate() != null) {
-            dto.setExpirationDate(stock.getExpirationDate().toString());
+    /**
+     * Used by the constructor-expression queries in {@code StockRepository}, which
+     * select the three joined names in the same statement as the stock row.
+     */
+    public StockDTO(Long id, Long productId, Long supplierId, String location, Integer quantity,
+                    BigDecimal costPrice, BigDecimal sellingPrice, Long depositedByUserId,
+                    LocalDateTime depositedAt, LocalDate expirationDate,
+                    String productName, String supplierName, String depositorUsername, Long version) {
+        this.id = id;
+        this.productId = productId;
+        this.supplierId = supplierId;
+        this.location = location;
+        this.quantity = quantity;
+        if (costPrice != null) {
+            this.costPrice = costPrice.toString();
         }
-        if (stock.getProduct() != null) {
-            dto.setProductName(stock.getProduct().getName());
+        this.sellingPrice = sellingPrice.toString();
+        this.depositedByUserId = depositedByUserId;
+        if (depositedAt != null) {
+            this.depositedAt = depositedAt.toString();
         }
-        if (stock.getSupplier() != null) {
-            dto.setSupplierName(stock.getSupplier().getName());
+        if (expirationDate != null) {
+            this.expirationDate = expirationDate.toString();
         }
-        if (stock.getDepositor() != null) {
-            dto.setDepositorUsername(stock.getDepositor().getUsername());
-        }
-        return dto;
+        this.productName = productName;
+        this.supplierName = supplierName;
+        this.depositorUsername = depositorUsername;
+        this.version = version;
+    }
+
+    public static StockDTO fromEntity(Stock stock) {
+        return new StockDTO(
+                stock.getId(),
+                stock.getProductId(),
+                stock.getSupplierId(),
+                stock.getLocation(),
+                stock.getQuantity(),
+                stock.getCostPrice(),
+                stock.getSellingPrice(),
+                stock.getDepositedByUserId(),
+                stock.getDepositedAt(),
+                stock.getExpirationDate(),
+                stock.getProduct() != null ? stock.getProduct().getName() : null,
+                stock.getSupplier() != null ? stock.getSupplier().getName() : null,
+                stock.getDepositor() != null ? stock.getDepositor().getUsername() : null,
+                stock.getVersion());
     }
 }
@@ -1,16 +1,45 @@
 package com.inventory.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
+/**
+ * Body of {@code POST} and {@code PUT /api/stocks}, and one row of a bulk import.
+ * The constraints are those of a new stock item; an update leaves null fields unchanged.
+ */
 @Data
 public class StockRequest {
+    static final String MISSING_FIELDS =
+            "Missing required fields: product_id, supplier_id, quantity, selling_price, deposited_by_user_id";
+
+    @NotNull(message = MISSING_FIELDS)
+    @JsonProperty("product_id")
     private Long productId;
+
+    @NotNull(message = MISSING_FIELDS)
+    @JsonProperty("supplier_id")
     private Long supplierId;
+
     private String location;
+
+    @NotNull(message = MISSING_FIELDS)
     private Integer quantity;
+
+    @JsonProperty("cost_price")
     private BigDecimal costPrice;
+
+    @NotNull(message = MISSING_FIELDS)
+    @JsonProperty("selling_price")
     private BigDecimal sellingPrice;
+
+    @NotNull(message = MISSING_FIELDS)
+    @JsonProperty("deposited_by_user_id")
     private Long depositedByUserId;
-    private String expirationDate;
+
+    @JsonProperty("expiration_date")
+    private LocalDate expirationDate;
 }
@@ -0,0 +1,29 @@
+package com.inventory.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Stock on hand for one category, supplier or location, valued at cost and at
+ * selling price. {@code id} is null when grouping by location. {@code costValue}
+ * only covers stock with a cost price.
+ */
+@Data
+@NoArgsConstructor
+public class StockValuationDTO {
+    private Long id;
+    private String name;
+    private Long quantity;
+    private String costValue;
+    private String retailValue;
+
+    public StockValuationDTO(Long id, String name, Long quantity, BigDecimal costValue, BigDecimal retailValue) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.costValue = ReportAmounts.format(costValue);
+        this.retailValue = ReportAmounts.format(retailValue);
+    }
+}
@@ -12,6 +12,7 @@ public class SupplierDTO {
     private String email;
     private String address;
     private String additionalFees;
+    private Long version;
 
     public static SupplierDTO fromEntity(Supplier supplier) {
         SupplierDTO dto = new SupplierDTO();
@@ -24,6 +25,7 @@ public class SupplierDTO {
         if (supplier.getAdditionalFees() != null) {
             dto.setAdditionalFees(supplier.getAdditionalFees().toString());
         }
+        dto.setVersion(supplier.getVersion());
         return dto;
     }
 }
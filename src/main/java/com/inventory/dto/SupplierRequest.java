@@ -0,0 +1,27 @@
+package com.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Body of {@code POST} and {@code PUT /api/suppliers}. The constraints are those of a
+ * new supplier; an update leaves null fields unchanged.
+ */
+@Data
+public class SupplierRequest {
+    @NotEmpty(message = "Supplier name is required")
+    private String name;
+
+    @JsonProperty("contact_person")
+    private String contactPerson;
+
+    private String phone;
+    private String email;
+    private String address;
+
+    @JsonProperty("additional_fees")
+    private BigDecimal additionalFees;
+}
@@ -0,0 +1,16 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * What a login is checked against; the hash never leaves the server.
+ */
+@Data
+@AllArgsConstructor
+public class UserCredentials {
+    private Long userId;
+    private String username;
+    private String passwordHash;
+    private Integer permissionsLevel;
+}
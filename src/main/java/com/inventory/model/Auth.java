@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 @Entity
 @Table(name = "auth")
@@ -22,19 +21,10 @@ public class Auth {
     @JoinColumn(name = "user_id")
     private User user;
 
+    /** BCrypt hash, computed off the request thread by PasswordHasher */
     @Column(name = "password_hash", nullable = false, length = 128)
     private String passwordHash;
 
     @Column(name = "permissions_level", nullable = false)
     private Integer permissionsLevel = 1;
-
-    private static final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
-    public void setPassword(String password) {
-        this.passwordHash = passwordEncoder.encode(password);
-    }
-
-    public boolean checkPassword(String password) {
-        return passwordEncoder.matches(password, this.passwordHash);
-    }
 }
@@ -7,7 +7,7 @@ import lombok.AllArgsConstructor;
 import java.util.List;
 
 @Entity
-@Table(name = "category")
+@Table(name = "category", indexes = @Index(name = "ix_category_name", columnList = "name"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +23,10 @@ public class Category {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "category")
     private List<Product> products;
 }
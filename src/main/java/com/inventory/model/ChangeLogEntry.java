@@ -0,0 +1,48 @@
+package com.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One write to a synced table, appended by {@code ChangeLog} and read by
+ * {@code GET /api/changes}. The payload is the entity's DTO as JSON, null for deletes.
+ */
+@Entity
+@Table(name = "change_log", indexes = @Index(name = "ix_change_log_entity", columnList = "entity, entity_id, seq"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    public enum EntityType {
+        STOCK, PRODUCT, SUPPLIER, CATEGORY
+    }
+
+    public enum Op {
+        UPSERT, DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntityType entity;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Op op;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,35 @@
+package com.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Number of sales and their total amount per client and day, maintained by
+ * {@code InventoryRollups}.
+ */
+@Entity
+@Table(name = "client_daily_revenue")
+@IdClass(ClientDayId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientDailyRevenue {
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    /** yyyy-MM-dd, local time */
+    @Id
+    @Column(name = "sale_day", length = 10)
+    private String saleDay;
+
+    @Column(nullable = false)
+    private Long sales;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
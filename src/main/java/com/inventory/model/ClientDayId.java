@@ -0,0 +1,30 @@
+package com.inventory.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class ClientDayId implements Serializable {
+
+    private Long clientId;
+    private String saleDay;
+
+    public ClientDayId() {}
+
+    public ClientDayId(Long clientId, String saleDay) {
+        this.clientId = clientId;
+        this.saleDay = saleDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClientDayId that = (ClientDayId) o;
+        return Objects.equals(clientId, that.clientId) && Objects.equals(saleDay, that.saleDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clientId, saleDay);
+    }
+}
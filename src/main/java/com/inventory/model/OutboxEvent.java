@@ -0,0 +1,47 @@
+package com.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A domain event waiting in the outbox, written by {@code Outbox.publish} and deleted
+ * once every subscriber has handled it. The payload is the event record as JSON; the
+ * type is its simple name. An event a subscriber failed is retried from
+ * {@code nextAttemptAt}; one out of attempts is kept, marked dead.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Comma-separated names of the subscribers that have handled the event. */
+    @Column(name = "delivered_to", length = 200)
+    private String deliveredTo;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private boolean dead;
+}
@@ -7,7 +7,7 @@ import lombok.AllArgsConstructor;
 import java.util.List;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = @Index(name = "ix_product_category_id", columnList = "category_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,7 +32,11 @@ public class Product {
     @Column(name = "category_id")
     private Long categoryId;
 
-    @ManyToOne
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", insertable = false, updatable = false)
     private Category category;
 
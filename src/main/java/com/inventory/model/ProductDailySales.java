@@ -0,0 +1,41 @@
+package com.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Units sold per product and day, maintained by {@code InventoryRollups}. Cost and
+ * margin only cover units taken from stock with a cost price.
+ */
+@Entity
+@Table(name = "product_daily_sales")
+@IdClass(ProductDayId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDailySales {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /** yyyy-MM-dd, local time */
+    @Id
+    @Column(name = "sale_day", length = 10)
+    private String saleDay;
+
+    @Column(name = "units_sold", nullable = false)
+    private Long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal cost;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal margin;
+}
@@ -0,0 +1,30 @@
+package com.inventory.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class ProductDayId implements Serializable {
+
+    private Long productId;
+    private String saleDay;
+
+    public ProductDayId() {}
+
+    public ProductDayId(Long productId, String saleDay) {
+        this.productId = productId;
+        this.saleDay = saleDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductDayId that = (ProductDayId) o;
+        return Objects.equals(productId, that.productId) && Objects.equals(saleDay, that.saleDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, saleDay);
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * On-hand quantity per product, maintained by {@code InventoryRollups}.
+ */
+@Entity
+@Table(name = "product_stock_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockRollup {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long quantity;
+}
@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "sale")
+@Table(name = "sale", indexes = {
+        @Index(name = "ix_sale_client_id", columnList = "client_id"),
+        @Index(name = "ix_sale_user_id", columnList = "user_id"),
+        @Index(name = "ix_sale_date_client", columnList = "sale_date, client_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,7 +7,7 @@ import lombok.AllArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "sale_item")
+@Table(name = "sale_item", indexes = @Index(name = "ix_sale_item_stock_id", columnList = "stock_id"))
 @IdClass(SaleItemId.class)
 @Data
 @NoArgsConstructor
@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "stock")
+@Table(name = "stock", indexes = {
+        @Index(name = "ix_stock_product_expiration", columnList = "product_id, expiration_date"),
+        @Index(name = "ix_stock_supplier_id", columnList = "supplier_id"),
+        @Index(name = "ix_stock_deposited_by_user_id", columnList = "deposited_by_user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,15 +51,19 @@ public class Stock {
     @Column(name = "expiration_date")
     private LocalDate expirationDate;
 
-    @ManyToOne
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", insertable = false, updatable = false)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", insertable = false, updatable = false)
     private Supplier supplier;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "deposited_by_user_id", insertable = false, updatable = false)
     private User depositor;
 
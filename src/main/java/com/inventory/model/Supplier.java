@@ -36,6 +36,10 @@ public class Supplier {
     @Column(name = "additional_fees", precision = 10, scale = 2)
     private BigDecimal additionalFees;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "supplier")
     private List<Stock> stocks;
 }
@@ -1,9 +1,18 @@
 package com.inventory.repository;
 
+import com.inventory.dto.UserCredentials;
 import com.inventory.model.Auth;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface AuthRepository extends JpaRepository<Auth, Long> {
+
+    @Query("select new com.inventory.dto.UserCredentials(u.id, u.username, a.passwordHash, a.permissionsLevel) "
+            + "from Auth a join a.user u where u.username = :username")
+    Optional<UserCredentials> findCredentials(@Param("username") String username);
 }
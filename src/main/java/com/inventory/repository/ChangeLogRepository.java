@@ -0,0 +1,38 @@
+package com.inventory.repository;
+
+import com.inventory.model.ChangeLogEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.stream.Stream;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from ChangeLogEntry c where c.seq > :since order by c.seq")
+    Stream<ChangeLogEntry> streamSince(@Param("since") long since);
+
+    @Query("select coalesce(max(c.seq), 0) from ChangeLogEntry c")
+    long findMaxSeq();
+
+    @Query("select coalesce(min(c.seq), 0) from ChangeLogEntry c")
+    long findMinSeq();
+
+    /**
+     * Deletes the entries superseded by an entry in {@code [from, to)}, i.e. older entries
+     * for the same row. A reader who has not seen one of them will still receive the later one.
+     */
+    @Modifying
+    @Query(value = "delete from change_log where seq in ("
+            + "select older.seq from change_log newer join change_log older "
+            + "on older.entity = newer.entity and older.entity_id = newer.entity_id and older.seq < newer.seq "
+            + "where newer.seq >= :from and newer.seq < :to)",
+            nativeQuery = true)
+    int deleteSuperseded(@Param("from") long from, @Param("to") long to);
+}
@@ -0,0 +1,66 @@
+package com.inventory.repository;
+
+import com.inventory.dto.ClientSalesDTO;
+import com.inventory.dto.DailySalesDTO;
+import com.inventory.model.ClientDailyRevenue;
+import com.inventory.model.ClientDayId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ClientDailyRevenueRepository extends JpaRepository<ClientDailyRevenue, ClientDayId> {
+
+    @Modifying
+    @Query(value = "insert into client_daily_revenue (client_id, sale_day, sales, revenue) "
+            + "values (:clientId, :saleDay, :sales, :revenue) "
+            + "on conflict (client_id, sale_day) do update set "
+            + "sales = client_daily_revenue.sales + excluded.sales, "
+            + "revenue = client_daily_revenue.revenue + excluded.revenue",
+            nativeQuery = true)
+    void add(@Param("clientId") Long clientId, @Param("saleDay") String saleDay, @Param("sales") long sales,
+             @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query("delete from ClientDailyRevenue r where r.clientId >= :from and r.clientId < :to")
+    void deleteRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select r from ClientDailyRevenue r where r.clientId >= :from and r.clientId < :to")
+    List<ClientDailyRevenue> findRange(@Param("from") long from, @Param("to") long to);
+
+    /**
+     * The rollup rows for clients in {@code [from, to)} recomputed from the sales.
+     */
+    @Query("select new com.inventory.model.ClientDailyRevenue(s.clientId, calendar_day(s.saleDate), count(s), "
+            + "sum(s.totalAmount)) from Sale s "
+            + "where s.clientId >= :from and s.clientId < :to and s.saleDate is not null "
+            + "group by s.clientId, calendar_day(s.saleDate)")
+    List<ClientDailyRevenue> computeRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select coalesce(max(r.clientId), 0) from ClientDailyRevenue r")
+    long findMaxClientId();
+
+    String DAY_FILTER = "where (:from is null or r.saleDay >= :from) and (:to is null or r.saleDay <= :to) "
+            + "and (:clientId is null or r.clientId = :clientId) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.DailySalesDTO(r.saleDay, sum(r.sales), sum(r.revenue)) "
+            + "from ClientDailyRevenue r " + DAY_FILTER + "group by r.saleDay order by r.saleDay")
+    Stream<DailySalesDTO> streamTotalsByDay(@Param("from") String from, @Param("to") String to,
+                                            @Param("clientId") Long clientId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.ClientSalesDTO(c.id, c.name, sum(r.sales), sum(r.revenue)) "
+            + "from ClientDailyRevenue r join Client c on c.id = r.clientId " + DAY_FILTER
+            + "group by c.id, c.name order by c.id")
+    Stream<ClientSalesDTO> streamTotalsByClient(@Param("from") String from, @Param("to") String to,
+                                                @Param("clientId") Long clientId);
+}
@@ -2,8 +2,12 @@ package com.inventory.repository;
 
 import com.inventory.model.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
+
+    @Query("select coalesce(max(c.id), 0) from Client c")
+    long findMaxId();
 }
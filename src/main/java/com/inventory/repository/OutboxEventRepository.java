@@ -0,0 +1,24 @@
+package com.inventory.repository;
+
+import com.inventory.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Live events whose next attempt is due, in id order.
+     */
+    @Query("select e from OutboxEvent e where e.dead = false and (e.nextAttemptAt is null or e.nextAttemptAt <= :now) "
+            + "order by e.id")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    @Query("select coalesce(max(e.id), 0) from OutboxEvent e")
+    long findMaxId();
+}
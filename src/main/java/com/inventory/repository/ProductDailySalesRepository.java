@@ -0,0 +1,68 @@
+package com.inventory.repository;
+
+import com.inventory.dto.ProductMarginDTO;
+import com.inventory.model.ProductDailySales;
+import com.inventory.model.ProductDayId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProductDailySalesRepository extends JpaRepository<ProductDailySales, ProductDayId> {
+
+    /**
+     * Adds to a product's day; a null cost or margin leaves the stored one as it is.
+     */
+    @Modifying
+    @Query(value = "insert into product_daily_sales (product_id, sale_day, units_sold, revenue, cost, margin) "
+            + "values (:productId, :saleDay, :units, :revenue, cast(:cost as numeric), cast(:margin as numeric)) "
+            + "on conflict (product_id, sale_day) do update set "
+            + "units_sold = product_daily_sales.units_sold + excluded.units_sold, "
+            + "revenue = product_daily_sales.revenue + excluded.revenue, "
+            + "cost = coalesce(product_daily_sales.cost + excluded.cost, product_daily_sales.cost, excluded.cost), "
+            + "margin = coalesce(product_daily_sales.margin + excluded.margin, product_daily_sales.margin, "
+            + "excluded.margin)",
+            nativeQuery = true)
+    void add(@Param("productId") Long productId, @Param("saleDay") String saleDay, @Param("units") long units,
+             @Param("revenue") BigDecimal revenue, @Param("cost") BigDecimal cost,
+             @Param("margin") BigDecimal margin);
+
+    @Modifying
+    @Query("delete from ProductDailySales r where r.productId >= :from and r.productId < :to")
+    void deleteRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select r from ProductDailySales r where r.productId >= :from and r.productId < :to")
+    List<ProductDailySales> findRange(@Param("from") long from, @Param("to") long to);
+
+    /**
+     * The rollup rows for products in {@code [from, to)} recomputed from the sale items.
+     */
+    @Query("select new com.inventory.model.ProductDailySales(st.productId, calendar_day(s.saleDate), "
+            + "sum(i.quantitySold), sum(i.quantitySold * i.unitPriceAtSale), sum(i.quantitySold * st.costPrice), "
+            + "sum(i.quantitySold * (i.unitPriceAtSale - st.costPrice))) "
+            + "from SaleItem i join i.sale s join i.stockItem st "
+            + "where st.productId >= :from and st.productId < :to and s.saleDate is not null "
+            + "group by st.productId, calendar_day(s.saleDate)")
+    List<ProductDailySales> computeRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select coalesce(max(r.productId), 0) from ProductDailySales r")
+    long findMaxProductId();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.ProductMarginDTO(p.id, p.name, sum(r.unitsSold), sum(r.revenue), "
+            + "sum(r.cost), sum(r.margin)) "
+            + "from ProductDailySales r join Product p on p.id = r.productId "
+            + "where (:from is null or r.saleDay >= :from) and (:to is null or r.saleDay <= :to) "
+            + "and (:categoryId is null or p.categoryId = :categoryId) "
+            + "group by p.id, p.name order by p.id")
+    Stream<ProductMarginDTO> streamMarginsByProduct(@Param("from") String from, @Param("to") String to,
+                                                    @Param("categoryId") Long categoryId);
+}
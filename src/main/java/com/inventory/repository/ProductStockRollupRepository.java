@@ -0,0 +1,47 @@
+package com.inventory.repository;
+
+import com.inventory.dto.ProductOnHandDTO;
+import com.inventory.model.ProductStockRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProductStockRollupRepository extends JpaRepository<ProductStockRollup, Long> {
+
+    @Modifying
+    @Query(value = "insert into product_stock_rollup (product_id, quantity) values (:productId, :quantity) "
+            + "on conflict (product_id) do update set quantity = product_stock_rollup.quantity + excluded.quantity",
+            nativeQuery = true)
+    void add(@Param("productId") Long productId, @Param("quantity") long quantity);
+
+    @Modifying
+    @Query("delete from ProductStockRollup r where r.productId >= :from and r.productId < :to")
+    void deleteRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select r from ProductStockRollup r where r.productId >= :from and r.productId < :to")
+    List<ProductStockRollup> findRange(@Param("from") long from, @Param("to") long to);
+
+    /**
+     * The rollup rows for products in {@code [from, to)} recomputed from the stock table.
+     */
+    @Query("select new com.inventory.model.ProductStockRollup(s.productId, sum(s.quantity)) from Stock s "
+            + "where s.productId >= :from and s.productId < :to group by s.productId")
+    List<ProductStockRollup> computeRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select coalesce(max(r.productId), 0) from ProductStockRollup r")
+    long findMaxProductId();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.ProductOnHandDTO(p.id, p.name, r.quantity) "
+            + "from ProductStockRollup r join Product p on p.id = r.productId "
+            + "where (:categoryId is null or p.categoryId = :categoryId) order by p.id")
+    Stream<ProductOnHandDTO> streamOnHand(@Param("categoryId") Long categoryId);
+}
@@ -1,10 +1,36 @@
 package com.inventory.repository;
 
+import com.inventory.dto.ProductMarginDTO;
 import com.inventory.model.SaleItem;
 import com.inventory.model.SaleItemId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 @Repository
 public interface SaleItemRepository extends JpaRepository<SaleItem, SaleItemId> {
+
+    /**
+     * Units, revenue, cost and margin per product over the sales in {@code [from, to)}
+     * ({@code GET /api/reports/margins}); cost and margin skip stock without a cost price.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.ProductMarginDTO(p.id, p.name, sum(i.quantitySold), "
+            + "sum(i.quantitySold * i.unitPriceAtSale), sum(i.quantitySold * s.costPrice), "
+            + "sum(i.quantitySold * (i.unitPriceAtSale - s.costPrice))) "
+            + "from SaleItem i join i.sale sa join i.stockItem s join s.product p "
+            + "where (:from is null or sa.saleDate >= :from) and (:to is null or sa.saleDate < :to) "
+            + "and (:categoryId is null or p.categoryId = :categoryId) "
+            + "and (:supplierId is null or s.supplierId = :supplierId) "
+            + "group by p.id, p.name order by p.id")
+    Stream<ProductMarginDTO> streamMarginsByProduct(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("categoryId") Long categoryId,
+                                                    @Param("supplierId") Long supplierId);
 }
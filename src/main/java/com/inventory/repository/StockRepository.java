@@ -1,12 +1,126 @@
 package com.inventory.repository;
 
+import com.inventory.dto.StockDTO;
+import com.inventory.dto.StockValuationDTO;
 import com.inventory.model.Stock;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StockRepository extends JpaRepository<Stock, Long> {
+
+    /**
+     * Read path for the stock endpoints: one statement per call, with the product,
+     * supplier and depositor names joined in instead of loaded through the associations.
+     */
+    String DTO_SELECT = "select new com.inventory.dto.StockDTO("
+            + "s.id, s.productId, s.supplierId, s.location, s.quantity, s.costPrice, s.sellingPrice, "
+            + "s.depositedByUserId, s.depositedAt, s.expirationDate, p.name, sup.name, u.username, s.version) "
+            + "from Stock s left join s.product p left join s.supplier sup left join s.depositor u ";
+
     List<Stock> findByProductId(Long productId);
     List<Stock> findBySupplierId(Long supplierId);
+
+    @Query(DTO_SELECT + "where s.id = :id")
+    Optional<StockDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where s.id > :after order by s.id")
+    List<StockDTO> findDtoPage(@Param("after") Long after, Limit limit);
+
+    @Query(DTO_SELECT + "where s.id in :ids order by s.id")
+    List<StockDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(DTO_SELECT + "where s.productId = :productId order by s.id")
+    List<StockDTO> findDtosByProductId(@Param("productId") Long productId);
+
+    @Query(DTO_SELECT + "where s.supplierId = :supplierId order by s.id")
+    List<StockDTO> findDtosBySupplierId(@Param("supplierId") Long supplierId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "order by s.id")
+    Stream<StockDTO> streamAllDtos();
+
+    /**
+     * Takes {@code quantity} off a stock row only if it still holds that much.
+     * Returns the number of rows updated: 0 means the decrement would oversell.
+     * Increments the row's version like any other update.
+     */
+    @Modifying
+    @Query("update versioned Stock s set s.quantity = s.quantity - :quantity where s.id = :id and s.quantity >= :quantity")
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * A product's stock rows as the allocator indexes them. The rows are read rather than
+     * loaded as entities, so the caller's own decrements, which bypass the persistence
+     * context, show in the quantities.
+     */
+    @Query("select s.id as id, s.expirationDate as expirationDate, s.location as location, "
+            + "s.sellingPrice as sellingPrice, s.quantity as quantity from Stock s where s.productId = :productId")
+    List<Batch> findBatchesByProductId(@Param("productId") Long productId);
+
+    /**
+     * Total quantity per product and expiration date; one row per pair, not per stock row.
+     * Products without stock have a single row with no date and a quantity of zero.
+     */
+    @Query("select p.id as productId, s.expirationDate as expirationDate, coalesce(sum(s.quantity), 0) as quantity "
+            + "from Product p left join Stock s on s.productId = p.id group by p.id, s.expirationDate")
+    List<QuantityByExpiration> sumQuantityByProductAndExpiration();
+
+    /**
+     * Stock valuation aggregates for {@code GET /api/reports/valuation}: one row per
+     * group, filtered by whichever of category, supplier and location are given.
+     */
+    String VALUATION_SELECT = "sum(s.quantity), sum(s.quantity * s.costPrice), sum(s.quantity * s.sellingPrice)) "
+            + "from Stock s join s.product p ";
+    String VALUATION_FILTER = "where (:categoryId is null or p.categoryId = :categoryId) "
+            + "and (:supplierId is null or s.supplierId = :supplierId) "
+            + "and (:location is null or s.location = :location) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.StockValuationDTO(c.id, c.name, " + VALUATION_SELECT
+            + "left join p.category c " + VALUATION_FILTER + "group by c.id, c.name order by c.id")
+    Stream<StockValuationDTO> streamValuationByCategory(@Param("categoryId") Long categoryId,
+                                                        @Param("supplierId") Long supplierId,
+                                                        @Param("location") String location);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.StockValuationDTO(sup.id, sup.name, " + VALUATION_SELECT
+            + "join s.supplier sup " + VALUATION_FILTER + "group by sup.id, sup.name order by sup.id")
+    Stream<StockValuationDTO> streamValuationBySupplier(@Param("categoryId") Long categoryId,
+                                                        @Param("supplierId") Long supplierId,
+                                                        @Param("location") String location);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.inventory.dto.StockValuationDTO(cast(null as Long), s.location, " + VALUATION_SELECT
+            + VALUATION_FILTER + "group by s.location order by s.location")
+    Stream<StockValuationDTO> streamValuationByLocation(@Param("categoryId") Long categoryId,
+                                                        @Param("supplierId") Long supplierId,
+                                                        @Param("location") String location);
+
+    interface Batch {
+        Long getId();
+        LocalDate getExpirationDate();
+        String getLocation();
+        BigDecimal getSellingPrice();
+        Integer getQuantity();
+    }
+
+    interface QuantityByExpiration {
+        Long getProductId();
+        LocalDate getExpirationDate();
+        Long getQuantity();
+    }
 }
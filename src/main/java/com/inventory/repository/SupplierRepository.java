@@ -1,9 +1,26 @@
 package com.inventory.repository;
 
 import com.inventory.model.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+    List<Supplier> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Supplier> streamAllByOrderByIdAsc();
+
+    @Query("select s.id from Supplier s where s.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
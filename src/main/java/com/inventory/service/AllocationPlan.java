@@ -0,0 +1,32 @@
+package com.inventory.service;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Batches picked for one product line, first-expiry-first-out. The plan is only a
+ * proposal: checkout commits it through the conditional stock decrements.
+ */
+@Value
+public class AllocationPlan {
+    Long productId;
+    int requested;
+    int allocated;
+    List<Line> lines;
+
+    public boolean isComplete() {
+        return allocated == requested;
+    }
+
+    @Value
+    public static class Line {
+        Long stockId;
+        int quantity;
+        LocalDate expirationDate;
+        String location;
+        BigDecimal sellingPrice;
+    }
+}
@@ -0,0 +1,133 @@
+package com.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Stateless bearer tokens: {@code <user id>.<permissions level>.<expiry, epoch seconds>.<signature>},
+ * signed with HMAC-SHA256, so checking one needs no database read and no password hash.
+ *
+ * Tokens verified within {@code inventory.auth.verified-cache-ttl} are looked up instead
+ * of being checked again. A token cannot be revoked before it expires; keep
+ * {@code inventory.auth.token-ttl} short enough for that. The key is
+ * {@code inventory.auth.token-secret}, or a random one when it is blank, in which case
+ * tokens stop working at restart and are not accepted by other instances.
+ */
+@Slf4j
+@Component
+public class AuthTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Duration ttl;
+    private final Cache<String, Principal> verified;
+
+    public AuthTokens(@Value("${inventory.auth.token-secret:}") String secret,
+                      @Value("${inventory.auth.token-ttl:8h}") Duration ttl,
+                      @Value("${inventory.auth.verified-cache-ttl:60s}") Duration verifiedCacheTtl) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.warn("inventory.auth.token-secret is not set; signing tokens with a random key that lasts until restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("inventory.auth.token-secret must be at least 32 bytes, base64-encoded");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ttl = ttl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(verifiedCacheTtl)
+                .build();
+    }
+
+    public Issued issue(long userId, int permissionsLevel) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        String payload = userId + "." + permissionsLevel + "." + expiresAt.getEpochSecond();
+        return new Issued(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * @return who the token was issued to, or empty if it is malformed, forged or expired
+     */
+    public Optional<Principal> verify(String token) {
+        Principal principal = verified.getIfPresent(token);
+        if (principal == null) {
+            principal = check(token);
+            if (principal == null) {
+                return Optional.empty();
+            }
+            verified.put(token, principal);
+        }
+        return principal.expiresAt().isAfter(Instant.now()) ? Optional.of(principal) : Optional.empty();
+    }
+
+    private Principal check(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return null;
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(signature, sign(payload))) {
+            return null;
+        }
+        String[] fields = payload.split("\\.");
+        if (fields.length != 3) {
+            return null;
+        }
+        try {
+            return new Principal(Long.parseLong(fields[0]), Integer.parseInt(fields[1]),
+                    Instant.ofEpochSecond(Long.parseLong(fields[2])));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Issued(String token, Instant expiresAt) {
+    }
+
+    /** The authenticated user of a request carrying a valid token. */
+    public record Principal(long userId, int permissionsLevel, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,374 @@
+package com.inventory.service;
+
+import com.inventory.dto.CategoryDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.SearchHitDTO;
+import com.inventory.model.Product;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text search over products (name, brand, description, category name) and
+ * suppliers (name), backed by an embedded Lucene index in
+ * {@code inventory.search.index-dir}.
+ *
+ * Every query term must match one of the fields, exactly, as a prefix or within one
+ * or two edits; matches rank by BM25, with exact matches above prefixes above fuzzy
+ * ones and the name field above the others.
+ *
+ * The index is rebuilt from the database on start when its document counts differ
+ * from the tables (or always, with {@code inventory.search.rebuild-on-start}), and
+ * kept current from the catalog's {@link DomainEvent}s. Changes are applied after commit,
+ * on the outbox's dispatch thread, and are visible to the next search once applied.
+ */
+@Slf4j
+@Service
+public class CatalogSearch implements DomainEventSubscriber, SmartInitializingSingleton, DisposableBean {
+
+    public static final String PRODUCT = "product";
+    public static final String SUPPLIER = "supplier";
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String CATEGORY_ID = "category_id";
+    private static final String NAME = "name";
+    private static final String BRAND = "brand";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            NAME, 3f, BRAND, 2f, CATEGORY, 1.5f, DESCRIPTION, 1f);
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean rebuildOnStart;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public CatalogSearch(ProductRepository productRepository,
+                         SupplierRepository supplierRepository,
+                         ReferenceDataCache referenceDataCache,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${inventory.search.index-dir:search-index}") Path indexDir,
+                         @Value("${inventory.search.rebuild-on-start:false}") boolean rebuildOnStart)
+            throws IOException {
+        this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStart = rebuildOnStart;
+        this.analyzer = new FoldingAnalyzer();
+        this.directory = FSDirectory.open(indexDir);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long products = readOnlyTransaction.execute(status -> productRepository.count());
+            long suppliers = readOnlyTransaction.execute(status -> supplierRepository.count());
+            if (rebuildOnStart || count(PRODUCT) != products || count(SUPPLIER) != suppliers) {
+                rebuild();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the current products and suppliers.
+     */
+    public void rebuild() throws IOException {
+        long started = System.nanoTime();
+        writer.deleteAll();
+        long products = 0;
+        long after = 0;
+        List<Document> page;
+        do {
+            long cursor = after;
+            // Documents are built inside the transaction, while the fetched categories are attached
+            page = readOnlyTransaction.execute(status -> productRepository
+                    .findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(REBUILD_PAGE_SIZE)).stream()
+                    .map(product -> productDocument(product, categoryName(product)))
+                    .toList());
+            writer.addDocuments(page);
+            products += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getField(ID).numericValue().longValue();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        List<Document> suppliers = readOnlyTransaction.execute(status -> supplierRepository.findAll().stream()
+                .map(supplier -> supplierDocument(supplier.getId(), supplier.getName()))
+                .toList());
+        writer.addDocuments(suppliers);
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+        log.info("Rebuilt the search index: {} products and {} suppliers in {} ms",
+                products, suppliers.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @param type {@link #PRODUCT}, {@link #SUPPLIER}, or null for both
+     * @return up to {@code limit} hits after the first {@code offset}, best first
+     */
+    public List<SearchHitDTO> search(String text, String type, int offset, int limit) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(termQuery(term), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query.build(), offset + limit);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHitDTO> hits = new ArrayList<>(limit);
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                hits.add(hit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Applies catalog events and commits the index before returning, so the outbox only
+     * drops an event once the index cannot lose it; a failure is thrown for the outbox
+     * to retry. All index writes happen here, on the dispatch thread, one at a time.
+     */
+    @Override
+    public void on(long id, DomainEvent event) {
+        if (event instanceof DomainEvent.ProductChanged changed) {
+            productChanged(changed);
+        } else if (event instanceof DomainEvent.CategoryRenamed renamed) {
+            index(() -> categoryRenamed(renamed.categoryId(), renamed.name()));
+        } else if (event instanceof DomainEvent.SupplierChanged changed) {
+            Document document = supplierDocument(changed.supplierId(), changed.name());
+            index(() -> writer.updateDocument(key(SUPPLIER, changed.supplierId()), document));
+        } else if (event instanceof DomainEvent.SupplierDeleted deleted) {
+            index(() -> writer.deleteDocuments(key(SUPPLIER, deleted.supplierId())));
+        }
+    }
+
+    /**
+     * Indexes a changed product under its category's current name rather than the one
+     * in the event, which a rename committed since may have replaced.
+     */
+    private void productChanged(DomainEvent.ProductChanged changed) {
+        ProductDTO product = changed.product();
+        if (product == null) {
+            index(() -> writer.deleteDocuments(key(PRODUCT, changed.productId())));
+            return;
+        }
+        String categoryName = product.getCategoryId() != null
+                ? referenceDataCache.category(product.getCategoryId()).map(CategoryDTO::getName).orElse(null)
+                : null;
+        Document document = productDocument(product.getId(), product.getName(), product.getBrand(),
+                product.getDescription(), product.getCategoryId(), categoryName);
+        index(() -> writer.updateDocument(key(PRODUCT, product.getId()), document));
+    }
+
+    /**
+     * Re-indexes the category's products under its new name, from their stored fields.
+     */
+    private void categoryRenamed(Long categoryId, String name) throws IOException {
+        searcherManager.maybeRefreshBlocking();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            Query inCategory = new TermQuery(new Term(CATEGORY_ID, categoryId.toString()));
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc scoreDoc : searcher.search(inCategory, Math.max(1, searcher.count(inCategory))).scoreDocs) {
+                Document stored = storedFields.document(scoreDoc.doc);
+                long id = stored.getField(ID).numericValue().longValue();
+                writer.updateDocument(key(PRODUCT, id), productDocument(id, stored.get(NAME), stored.get(BRAND),
+                        stored.get(DESCRIPTION), categoryId, name));
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query termQuery(String term) {
+        List<Query> variants = new ArrayList<>();
+        FIELD_BOOSTS.forEach((field, boost) -> {
+            Term t = new Term(field, term);
+            variants.add(new BoostQuery(new TermQuery(t), boost * 4));
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                variants.add(new BoostQuery(new PrefixQuery(t), boost * 2));
+            }
+            if (term.length() >= MIN_FUZZY_LENGTH) {
+                variants.add(new BoostQuery(new FuzzyQuery(t, term.length() >= 8 ? 2 : 1, 1), boost));
+            }
+        });
+        return new DisjunctionMaxQuery(variants, 0.1f);
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        }
+        return terms;
+    }
+
+    private long count(String type) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(new TermQuery(new Term(TYPE, type)));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private void index(IndexChange change) {
+        try {
+            change.apply();
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String categoryName(Product product) {
+        return product.getCategory() != null ? product.getCategory().getName() : null;
+    }
+
+    private static Document productDocument(Product product, String categoryName) {
+        return productDocument(product.getId(), product.getName(), product.getBrand(), product.getDescription(),
+                product.getCategoryId(), categoryName);
+    }
+
+    private static Document productDocument(long id, String name, String brand, String description,
+                                            Long categoryId, String categoryName) {
+        Document document = new Document();
+        document.add(new StringField(KEY, PRODUCT + ":" + id, Field.Store.NO));
+        document.add(new StringField(TYPE, PRODUCT, Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        addText(document, NAME, name);
+        addText(document, BRAND, brand);
+        addText(document, DESCRIPTION, description);
+        addText(document, CATEGORY, categoryName);
+        if (categoryId != null) {
+            document.add(new StringField(CATEGORY_ID, categoryId.toString(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static Document supplierDocument(long id, String name) {
+        Document document = new Document();
+        document.add(new StringField(KEY, SUPPLIER + ":" + id, Field.Store.NO));
+        document.add(new StringField(TYPE, SUPPLIER, Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        addText(document, NAME, name);
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static Term key(String type, Long id) {
+        return new Term(KEY, type + ":" + id);
+    }
+
+    private static SearchHitDTO hit(Document document, float score) {
+        return new SearchHitDTO(document.get(TYPE), document.getField(ID).numericValue().longValue(),
+                document.get(NAME), document.get(BRAND), document.get(CATEGORY), score);
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void apply() throws IOException;
+    }
+
+    /**
+     * Standard tokenization, lower-cased and folded to ASCII so "café" matches "cafe".
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Change counters for the catalog tables, from which the list endpoints derive their
+ * ETag. The write endpoints call {@link #changed} after they save; the counter moves
+ * once the transaction has committed. There is no Last-Modified: at the header's
+ * one-second precision, If-Modified-Since would confirm a copy taken just before a
+ * change made within the same second.
+ *
+ * Counters are kept in memory and tags carry a random prefix chosen at startup, so a
+ * tag from before a restart never matches. Writes that bypass this instance's
+ * endpoints (another instance, SQL run by hand) are not seen until the next change
+ * made here or a restart.
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Table {
+        PRODUCTS, CATEGORIES, SUPPLIERS
+    }
+
+    /**
+     * @param etag strong entity tag, without quotes
+     */
+    public record Version(long counter, String etag) {
+    }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Map<Table, AtomicReference<Version>> versions = new EnumMap<>(Table.class);
+
+    public CatalogVersions() {
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicReference<>(new Version(0, epoch + "-0")));
+        }
+    }
+
+    public Version current(Table table) {
+        return versions.get(table).get();
+    }
+
+    public void changed(Table... tables) {
+        AfterCommit.run(() -> {
+            for (Table table : tables) {
+                versions.get(table).updateAndGet(version -> {
+                    long counter = version.counter() + 1;
+                    return new Version(counter, epoch + "-" + counter);
+                });
+            }
+        });
+    }
+}
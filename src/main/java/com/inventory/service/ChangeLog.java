@@ -0,0 +1,150 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.model.ChangeLogEntry;
+import com.inventory.repository.ChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Appends every write to stock, products, suppliers and categories to the change log,
+ * from which store terminals pull what changed since their last sync
+ * ({@code GET /api/changes?since=<seq>}).
+ *
+ * Entries are appended inside the transaction that makes the change, so they commit or
+ * roll back with it, and carry the row's DTO as JSON. A reader who has seen sequence
+ * number {@code n} must never later find a smaller one committed: on SQLite the single
+ * writer connection guarantees that, elsewhere {@code inventory.changes.append-lock-sql}
+ * serializes transactions from their first append to their commit.
+ *
+ * {@link #compact} periodically deletes entries superseded by a later entry for the
+ * same row, so the log holds about one entry per row changed rather than one per change.
+ * Deletes stay as tombstones.
+ */
+@Slf4j
+@Component
+public class ChangeLog {
+
+    private static final String INSERT = "insert into change_log (entity, entity_id, op, payload, changed_at) "
+            + "values (?, ?, ?, ?, ?)";
+    private static final int[] TYPES = {Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+
+    private final ChangeLogRepository changeLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final String appendLockSql;
+    private final int compactionChunk;
+    /** Entries below this have already deleted what they supersede; only used by the scheduler. */
+    private long compactedUpTo;
+
+    public ChangeLog(ChangeLogRepository changeLogRepository,
+                     JdbcTemplate jdbcTemplate,
+                     ObjectMapper objectMapper,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${inventory.changes.append-lock-sql:}") String appendLockSql,
+                     @Value("${inventory.changes.compaction-chunk:10000}") int compactionChunk) {
+        this.changeLogRepository = changeLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appendLockSql = appendLockSql;
+        this.compactionChunk = compactionChunk;
+    }
+
+    public void upsert(ChangeLogEntry.EntityType entity, Long id, Object dto) {
+        append(Collections.singletonList(row(entity, id, ChangeLogEntry.Op.UPSERT, json(dto))));
+    }
+
+    public <D> void upsertAll(ChangeLogEntry.EntityType entity, Collection<D> dtos, Function<D, Long> idOf) {
+        List<Object[]> rows = new ArrayList<>(dtos.size());
+        for (D dto : dtos) {
+            rows.add(row(entity, idOf.apply(dto), ChangeLogEntry.Op.UPSERT, json(dto)));
+        }
+        append(rows);
+    }
+
+    public void deleted(ChangeLogEntry.EntityType entity, Long id) {
+        append(Collections.singletonList(row(entity, id, ChangeLogEntry.Op.DELETE, null)));
+    }
+
+    /** The latest sequence number; a terminal that has just copied everything syncs from here. */
+    public long head() {
+        return changeLogRepository.findMaxSeq();
+    }
+
+    private void append(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (!appendLockSql.isBlank() && !TransactionSynchronizationManager.hasResource(this)) {
+            jdbcTemplate.execute(appendLockSql);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Held until the transaction ends, so its later appends need not take it again
+                TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResource(ChangeLog.this);
+                    }
+                });
+            }
+        }
+        if (rows.size() == 1) {
+            jdbcTemplate.update(INSERT, rows.get(0), TYPES);
+        } else {
+            jdbcTemplate.batchUpdate(INSERT, rows, TYPES);
+        }
+    }
+
+    private static Object[] row(ChangeLogEntry.EntityType entity, Long id, ChangeLogEntry.Op op, String payload) {
+        return new Object[]{entity.name(), id, op.name(), payload, Timestamp.valueOf(LocalDateTime.now())};
+    }
+
+    private String json(Object dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compares the entries appended since the last run with the ones before them, one
+     * chunk of sequence numbers per transaction so the writer is never held for long.
+     */
+    @Scheduled(fixedDelayString = "${inventory.changes.compaction-interval-ms:600000}")
+    public void compact() {
+        long head = changeLogRepository.findMaxSeq();
+        long from = Math.max(compactedUpTo, changeLogRepository.findMinSeq());
+        int deleted = 0;
+        while (from <= head) {
+            long start = from;
+            long end = Math.min(from + compactionChunk, head + 1);
+            deleted += transactionTemplate.execute(status -> changeLogRepository.deleteSuperseded(start, end));
+            from = end;
+        }
+        compactedUpTo = head + 1;
+        if (deleted > 0) {
+            log.info("Change log compaction removed {} superseded entries", deleted);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.inventory.service;
+
+import com.inventory.dto.ProductDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Something that happened to stock, the catalog or sales, published through the
+ * {@link Outbox} by the transaction that made it happen and delivered afterwards to
+ * the {@link DomainEventSubscriber}s. Events are stored as JSON, so they carry plain
+ * values rather than entities.
+ */
+public sealed interface DomainEvent {
+
+    /**
+     * A new stock row, from {@code POST /api/stocks} or a bulk import.
+     */
+    record StockDeposited(Long stockId, Long productId, LocalDate expirationDate, int quantity)
+            implements DomainEvent {
+    }
+
+    /**
+     * A stock row changed by an update, an adjustment or a delete (which leaves it at
+     * quantity zero). The previous product and date matter: an update may move the row.
+     */
+    record StockAdjusted(Long stockId,
+                         Long previousProductId, LocalDate previousExpirationDate, int previousQuantity,
+                         Long productId, LocalDate expirationDate, int quantity)
+            implements DomainEvent {
+    }
+
+    /**
+     * A product created or updated, or deleted when {@code product} is null.
+     */
+    record ProductChanged(Long productId, ProductDTO product) implements DomainEvent {
+    }
+
+    /**
+     * A category given a new name, which its products carry.
+     */
+    record CategoryRenamed(Long categoryId, String name) implements DomainEvent {
+    }
+
+    /**
+     * A supplier created or updated.
+     */
+    record SupplierChanged(Long supplierId, String name) implements DomainEvent {
+    }
+
+    record SupplierDeleted(Long supplierId) implements DomainEvent {
+    }
+
+    /**
+     * A checkout, with the quantity taken from each stock row.
+     */
+    record SaleCompleted(Long saleId, Long clientId, BigDecimal totalAmount, List<Line> lines)
+            implements DomainEvent {
+
+        public record Line(Long stockId, Long productId, LocalDate expirationDate, int quantity) {
+        }
+    }
+}
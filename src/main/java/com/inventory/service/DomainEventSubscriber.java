@@ -0,0 +1,20 @@
+package com.inventory.service;
+
+/**
+ * Secondary work triggered by a {@link DomainEvent}: every bean implementing this is
+ * handed each event drained from the {@link Outbox}, on the dispatch thread rather than
+ * the request thread. Events usually arrive in id order, but not always: ids follow
+ * insert rather than commit order, and a retried event arrives after later ones.
+ *
+ * Delivery is at least once: events delivered just before a crash, and not yet removed
+ * from the outbox, are delivered again after the restart. An exception is logged and
+ * counted, and the event is retried for this subscriber alone, with backoff, until it
+ * is handled or marked dead.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * @param id the event's outbox id; ids increase in the order events were written
+     */
+    void on(long id, DomainEvent event);
+}
@@ -0,0 +1,11 @@
+package com.inventory.service;
+
+/**
+ * Thrown when the password hashing queue is full; the request should be retried later.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException() {
+        super("Too many sign-ins in progress, retry shortly.");
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventory.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps a second instance from running against the same database. Much of the state
+ * is per process: the {@link Outbox} delivers each event once and then deletes it, so
+ * a second node's search index and stock alerts would only see some of the events,
+ * and the allocator index, catalog ETags and reference data cache only follow this
+ * process's writes.
+ *
+ * With {@code inventory.instance-lock-sql} set (the postgres profile takes a session
+ * advisory lock), the lock is taken on a connection of its own before the outbox and
+ * the in-memory state are loaded, and held until shutdown; startup fails while another
+ * instance holds it. Without it (SQLite), run one process per database file.
+ */
+@Slf4j
+@Component
+public class InstanceLock implements DisposableBean {
+
+    private final Connection connection;
+
+    public InstanceLock(DataSourceProperties dataSourceProperties,
+                        @Value("${inventory.instance-lock-sql:}") String lockSql) throws SQLException {
+        if (lockSql.isBlank()) {
+            this.connection = null;
+            return;
+        }
+        Connection locked = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build()
+                .getConnection();
+        try (Statement statement = locked.createStatement();
+             ResultSet result = statement.executeQuery(lockSql)) {
+            if (!result.next() || !result.getBoolean(1)) {
+                throw new IllegalStateException("Another instance is running against this database; "
+                        + "only one may, as the outbox and the in-memory indexes are per process");
+            }
+        } catch (SQLException | RuntimeException e) {
+            locked.close();
+            throw e;
+        }
+        this.connection = locked;
+        log.info("Holding the instance lock");
+    }
+
+    @Override
+    public void destroy() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+}
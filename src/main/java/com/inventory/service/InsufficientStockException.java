@@ -0,0 +1,35 @@
+package com.inventory.service;
+
+import lombok.Getter;
+
+/**
+ * A basket line cannot be covered: either a conditional decrement matched no row
+ * because the stock item no longer holds the requested quantity, or the unexpired
+ * batches of a product do not add up to it. Thrown inside the checkout transaction
+ * so it rolls back.
+ */
+@Getter
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long stockId;
+    private final Long productId;
+    private final int requested;
+
+    private InsufficientStockException(String message, Long stockId, Long productId, int requested) {
+        super(message);
+        this.stockId = stockId;
+        this.productId = productId;
+        this.requested = requested;
+    }
+
+    public InsufficientStockException(Long stockId, int requested) {
+        this("Insufficient stock for stock item " + stockId + " (requested " + requested + ").",
+                stockId, null, requested);
+    }
+
+    public static InsufficientStockException forProduct(Long productId, int requested) {
+        return new InsufficientStockException(
+                "Insufficient stock for product " + productId + " (requested " + requested + ").",
+                null, productId, requested);
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventory.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters: stock batches deposited and units they brought in, sales
+ * completed and units sold. Counted after the transaction commits, so rolled-back
+ * checkouts and imports are left out.
+ */
+@Component
+public class InventoryMetrics {
+
+    private final Counter stockDeposits;
+    private final Counter unitsDeposited;
+    private final Counter sales;
+    private final Counter unitsSold;
+
+    public InventoryMetrics(MeterRegistry meterRegistry) {
+        this.stockDeposits = Counter.builder("inventory.stock.deposits")
+                .description("Stock batches deposited")
+                .register(meterRegistry);
+        this.unitsDeposited = Counter.builder("inventory.stock.deposited.units")
+                .description("Units brought in by deposited stock batches")
+                .register(meterRegistry);
+        this.sales = Counter.builder("inventory.sales")
+                .description("Sales completed")
+                .register(meterRegistry);
+        this.unitsSold = Counter.builder("inventory.sales.units")
+                .description("Units sold")
+                .register(meterRegistry);
+    }
+
+    public void stockDeposited(int batches, long units) {
+        AfterCommit.run(() -> {
+            stockDeposits.increment(batches);
+            unitsDeposited.increment(units);
+        });
+    }
+
+    public void saleCompleted(long units) {
+        AfterCommit.run(() -> {
+            sales.increment();
+            unitsSold.increment(units);
+        });
+    }
+}
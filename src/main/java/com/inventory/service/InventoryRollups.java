@@ -0,0 +1,90 @@
+package com.inventory.service;
+
+import com.inventory.model.Sale;
+import com.inventory.model.SaleItem;
+import com.inventory.model.Stock;
+import com.inventory.repository.ClientDailyRevenueRepository;
+import com.inventory.repository.ProductDailySalesRepository;
+import com.inventory.repository.ProductStockRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the rollup tables (on-hand quantity per product, daily sales per product,
+ * daily revenue per client) up to date. Every method must be called inside the
+ * transaction that makes the change, so a rolled-back write never reaches them;
+ * each row is an upsert that adds the change to what is stored.
+ *
+ * {@link RollupMaintenance} rebuilds and checks them from the base tables.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryRollups {
+
+    private final ProductStockRollupRepository productStockRollupRepository;
+    private final ProductDailySalesRepository productDailySalesRepository;
+    private final ClientDailyRevenueRepository clientDailyRevenueRepository;
+
+    public void quantityAdded(Long productId, long quantity) {
+        if (quantity != 0) {
+            productStockRollupRepository.add(productId, quantity);
+        }
+    }
+
+    public void stockSaved(Stock stock) {
+        quantityAdded(stock.getProductId(), stock.getQuantity());
+    }
+
+    public void stockUpdated(Long previousProductId, int previousQuantity, Stock stock) {
+        if (previousProductId.equals(stock.getProductId())) {
+            quantityAdded(stock.getProductId(), (long) stock.getQuantity() - previousQuantity);
+        } else {
+            quantityAdded(previousProductId, -previousQuantity);
+            quantityAdded(stock.getProductId(), stock.getQuantity());
+        }
+    }
+
+    public void stockDeleted(Stock stock) {
+        quantityAdded(stock.getProductId(), -stock.getQuantity());
+    }
+
+    /**
+     * @param stocks the sold stock rows by id
+     */
+    public void saleRecorded(Sale sale, List<SaleItem> items, Map<Long, Stock> stocks) {
+        String saleDay = sale.getSaleDate().toLocalDate().toString();
+        Map<Long, ProductLine> byProduct = new TreeMap<>();
+        for (SaleItem item : items) {
+            Stock stock = stocks.get(item.getStockId());
+            byProduct.computeIfAbsent(stock.getProductId(), id -> new ProductLine())
+                    .add(item.getQuantitySold(), item.getUnitPriceAtSale(), stock.getCostPrice());
+        }
+        byProduct.forEach((productId, line) -> {
+            quantityAdded(productId, -line.units);
+            productDailySalesRepository.add(productId, saleDay, line.units, line.revenue, line.cost, line.margin);
+        });
+        clientDailyRevenueRepository.add(sale.getClientId(), saleDay, 1, sale.getTotalAmount());
+    }
+
+    private static final class ProductLine {
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal cost;
+        private BigDecimal margin;
+
+        private void add(int quantity, BigDecimal unitPrice, BigDecimal unitCost) {
+            BigDecimal units = BigDecimal.valueOf(quantity);
+            this.units += quantity;
+            revenue = revenue.add(unitPrice.multiply(units));
+            if (unitCost != null) {
+                cost = unitCost.multiply(units).add(cost != null ? cost : BigDecimal.ZERO);
+                margin = unitPrice.subtract(unitCost).multiply(units).add(margin != null ? margin : BigDecimal.ZERO);
+            }
+        }
+    }
+}
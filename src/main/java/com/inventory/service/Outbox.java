@@ -0,0 +1,325 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.model.OutboxEvent;
+import com.inventory.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox for {@link DomainEvent}s, and the dispatcher that drains it to
+ * the {@link DomainEventSubscriber}s.
+ *
+ * {@link #publish} writes the event to the outbox table in the caller's transaction, so
+ * it exists exactly when the change does. Once that transaction commits, the dispatch
+ * thread is woken; it reads up to {@code inventory.outbox.batch-size} due events in id
+ * order, hands each to every subscriber and then deletes the ones all subscribers
+ * handled. A poll every {@code inventory.outbox.poll-interval-ms} picks up anything a
+ * wake-up missed, such as events left over from before a restart, and retries that
+ * have come due.
+ *
+ * An event a subscriber throws on stays in the outbox and is retried for the
+ * subscribers that have not handled it yet, after {@code inventory.outbox.retry-backoff-ms}
+ * doubled with each attempt. After {@code inventory.outbox.max-attempts} it is marked
+ * dead and kept for inspection; so is an event that cannot be read back. Ids follow
+ * insert order rather than commit order, and a retried event arrives after later ones,
+ * so subscribers must not rely on the order of delivery.
+ *
+ * The dispatcher is a single thread with room for one queued drain: wake-ups while one
+ * is already queued are dropped, as that drain will see their events. It is published
+ * as {@code executor.*{name="outbox.dispatch"}}; the time from write to delivery as
+ * {@code inventory.outbox.lag}, the age of the oldest undelivered event as
+ * {@code inventory.outbox.oldest}, subscriber exceptions as {@code inventory.outbox.failures},
+ * events given up on as {@code inventory.outbox.dead} and events that could not be read
+ * back as {@code inventory.outbox.unreadable}.
+ *
+ * Rows are deleted once delivered, and the subscribers keep their state in memory, so
+ * only one process may dispatch; {@link InstanceLock} makes sure there is one.
+ */
+@Slf4j
+@Component
+// Stopped before the lock is let go
+@DependsOn("instanceLock")
+public class Outbox implements DisposableBean {
+
+    private static final String INSERT = "insert into outbox_event (event_type, payload, created_at) values (?, ?, ?)";
+    private static final int[] TYPES = {Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+    /** Retry backoff stops doubling at 2^20 times the base. */
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<DomainEventSubscriber> subscribers;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Map<String, Class<? extends DomainEvent>> eventTypes = new HashMap<>();
+    private final ThreadPoolExecutor pool;
+    private final Map<DomainEventSubscriber, String> names = new IdentityHashMap<>();
+    private final Map<DomainEventSubscriber, Counter> failures = new IdentityHashMap<>();
+    private final Counter dead;
+    private final Counter unreadable;
+    private final Timer lag;
+    /** Creation time of the first event of the batch being delivered, null between drains. */
+    private volatile LocalDateTime oldestPending;
+    /** Creation time of each event waiting for a retry, by id. */
+    private final ConcurrentNavigableMap<Long, LocalDateTime> awaitingRetry = new ConcurrentSkipListMap<>();
+
+    public Outbox(OutboxEventRepository outboxEventRepository,
+                  JdbcTemplate jdbcTemplate,
+                  ObjectMapper objectMapper,
+                  List<DomainEventSubscriber> subscribers,
+                  PlatformTransactionManager transactionManager,
+                  MeterRegistry meterRegistry,
+                  @Value("${inventory.outbox.batch-size:200}") int batchSize,
+                  @Value("${inventory.outbox.max-attempts:10}") int maxAttempts,
+                  @Value("${inventory.outbox.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.subscribers = subscribers;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            eventTypes.put(type.getSimpleName(), type.asSubclass(DomainEvent.class));
+        }
+
+        this.pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-dispatch");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "outbox.dispatch");
+        for (DomainEventSubscriber subscriber : subscribers) {
+            String name = ClassUtils.getUserClass(subscriber).getSimpleName();
+            names.put(subscriber, name);
+            failures.put(subscriber, Counter.builder("inventory.outbox.failures")
+                    .description("Domain events a subscriber failed to handle")
+                    .tag("subscriber", name)
+                    .register(meterRegistry));
+        }
+        this.dead = Counter.builder("inventory.outbox.dead")
+                .description("Outbox events marked dead after running out of attempts")
+                .register(meterRegistry);
+        this.unreadable = Counter.builder("inventory.outbox.unreadable")
+                .description("Outbox events marked dead because they could not be read back")
+                .register(meterRegistry);
+        this.lag = Timer.builder("inventory.outbox.lag")
+                .description("Time from writing a domain event to delivering it to the subscribers")
+                .register(meterRegistry);
+        Gauge.builder("inventory.outbox.oldest", this, Outbox::oldestPendingSeconds)
+                .description("Age of the oldest domain event not yet delivered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes events to the outbox. Must be called inside the transaction that makes the
+     * change they describe, after its {@link ChangeLog} write: the append lock taken there
+     * is then held, so concurrent writers insert their events in commit order.
+     */
+    public void publish(DomainEvent event) {
+        publishAll(List.of(event));
+    }
+
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Domain events must be published inside the transaction that makes the change");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            rows.add(new Object[]{event.getClass().getSimpleName(), json(event), now});
+        }
+        if (rows.size() == 1) {
+            jdbcTemplate.update(INSERT, rows.get(0), TYPES);
+        } else {
+            jdbcTemplate.batchUpdate(INSERT, rows, TYPES);
+        }
+        AfterCommit.run(this::wake);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        wake();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Not interrupted: subscribers such as the search index do not survive an interrupt mid-write
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void wake() {
+        pool.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            List<OutboxEvent> batch;
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                batch = readTransaction.execute(status -> outboxEventRepository.findDue(now, Limit.of(batchSize)));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                oldestPending = batch.get(0).getCreatedAt();
+                List<Long> delivered = new ArrayList<>(batch.size());
+                List<OutboxEvent> kept = new ArrayList<>();
+                for (OutboxEvent row : batch) {
+                    if (deliver(row)) {
+                        delivered.add(row.getId());
+                    } else {
+                        kept.add(row);
+                    }
+                }
+                writeTransaction.executeWithoutResult(status -> {
+                    // By id rather than up to the last one: an event with a lower id may commit after this read
+                    if (!delivered.isEmpty()) {
+                        outboxEventRepository.deleteAllByIdInBatch(delivered);
+                    }
+                    outboxEventRepository.saveAll(kept);
+                });
+            } while (batch.size() == batchSize);
+            oldestPending = null;
+        } catch (RuntimeException e) {
+            // Left in the outbox for the next poll
+            log.error("Could not dispatch outbox events", e);
+        }
+    }
+
+    /**
+     * Hands the event to the subscribers that have not handled it yet.
+     *
+     * @return whether every subscriber has now handled it; otherwise the row is
+     * updated for a retry, or marked dead, and has to be saved
+     */
+    private boolean deliver(OutboxEvent row) {
+        DomainEvent event = read(row);
+        if (event == null) {
+            unreadable.increment();
+            row.setDead(true);
+            awaitingRetry.remove(row.getId());
+            return false;
+        }
+        Set<String> deliveredTo = new LinkedHashSet<>();
+        if (row.getDeliveredTo() != null) {
+            deliveredTo.addAll(Arrays.asList(row.getDeliveredTo().split(",")));
+        }
+        boolean failed = false;
+        for (DomainEventSubscriber subscriber : subscribers) {
+            String name = names.get(subscriber);
+            if (deliveredTo.contains(name)) {
+                continue;
+            }
+            try {
+                subscriber.on(row.getId(), event);
+                deliveredTo.add(name);
+            } catch (RuntimeException e) {
+                failed = true;
+                failures.get(subscriber).increment();
+                log.error("{} failed to handle outbox event {} ({}), attempt {}",
+                        name, row.getId(), row.getEventType(), row.getAttempts() + 1, e);
+            }
+        }
+        if (!failed) {
+            awaitingRetry.remove(row.getId());
+            lag.record(Duration.between(row.getCreatedAt(), LocalDateTime.now()));
+            return true;
+        }
+
+        row.setDeliveredTo(String.join(",", deliveredTo));
+        row.setAttempts(row.getAttempts() + 1);
+        if (row.getAttempts() >= maxAttempts) {
+            row.setDead(true);
+            dead.increment();
+            awaitingRetry.remove(row.getId());
+            log.error("Giving up on outbox event {} ({}) after {} attempts; it is kept in the outbox marked dead",
+                    row.getId(), row.getEventType(), row.getAttempts());
+        } else {
+            long backoffMs = retryBackoffMs << Math.min(row.getAttempts() - 1, MAX_BACKOFF_DOUBLINGS);
+            row.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+            awaitingRetry.put(row.getId(), row.getCreatedAt());
+        }
+        return false;
+    }
+
+    private DomainEvent read(OutboxEvent row) {
+        Class<? extends DomainEvent> type = eventTypes.get(row.getEventType());
+        if (type == null) {
+            log.error("Outbox event {} has unknown type {}; marking it dead", row.getId(), row.getEventType());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            log.error("Outbox event {} ({}) cannot be read back; marking it dead", row.getId(), row.getEventType(), e);
+            return null;
+        }
+    }
+
+    private String json(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private double oldestPendingSeconds() {
+        LocalDateTime oldest = oldestPending;
+        Map.Entry<Long, LocalDateTime> retry = awaitingRetry.firstEntry();
+        if (retry != null && (oldest == null || retry.getValue().isBefore(oldest))) {
+            oldest = retry.getValue();
+        }
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
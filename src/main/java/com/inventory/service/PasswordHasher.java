@@ -0,0 +1,98 @@
+package com.inventory.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification, each tens of milliseconds of CPU, on a pool of
+ * its own instead of the request threads.
+ *
+ * The pool is sized to part of the machine ({@code inventory.auth.hash-threads},
+ * default half the cores) so a burst of registrations or logins cannot take the CPU
+ * from other requests, and at most {@code inventory.auth.hash-queue} hashes wait for
+ * it; beyond that {@link HashingCapacityExceededException} is thrown at once rather
+ * than letting the backlog grow. The pool is published as the
+ * {@code executor.*{name="password.hashing"}} meters (queued, active, completed,
+ * execution and idle time) and turned-away hashes as {@code inventory.auth.hashing.rejected}.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter rejected;
+    /** Checked against when the user does not exist, so unknown names take as long as wrong passwords. */
+    private final String unknownUserHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${inventory.auth.hash-threads:0}") int threads,
+                          @Value("${inventory.auth.hash-queue:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.rejected = Counter.builder("inventory.auth.hashing.rejected")
+                .description("Password hashes turned away because the hashing queue was full")
+                .register(meterRegistry);
+        this.unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * @param passwordHash the stored hash, or {@code null} when the user does not exist
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> {
+            if (passwordHash == null) {
+                passwordEncoder.matches(rawPassword, unknownUserHash);
+                return false;
+            }
+            return passwordEncoder.matches(rawPassword, passwordHash);
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> hashing) {
+        try {
+            return CompletableFuture.supplyAsync(hashing, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
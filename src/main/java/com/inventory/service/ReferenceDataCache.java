@@ -0,0 +1,200 @@
+package com.inventory.service;
+
+import com.inventory.dto.CategoryDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.SupplierDTO;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import com.inventory.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the reference data behind by-id reads and foreign key
+ * checks. Size, TTL and statistics come from {@code spring.cache.caffeine.spec}.
+ *
+ * Only rows that exist are cached, so creating a row never has to evict a cached
+ * miss. The write endpoints call the {@code *Changed}/{@code *Deleted} methods
+ * after they save; the cache follows once their transaction has committed. A load
+ * that overlapped such a change returns what it read without caching it, as it may
+ * have read the row from before the change.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public static final String CATEGORIES = "categories";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String PRODUCTS = "products";
+    public static final String USERS = "users";
+
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final Region categories;
+    private final Region suppliers;
+    private final Region products;
+    private final Region users;
+
+    public ReferenceDataCache(CategoryRepository categoryRepository,
+                              SupplierRepository supplierRepository,
+                              ProductRepository productRepository,
+                              UserRepository userRepository,
+                              CacheManager cacheManager) {
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.categories = new Region(cacheManager.getCache(CATEGORIES));
+        this.suppliers = new Region(cacheManager.getCache(SUPPLIERS));
+        this.products = new Region(cacheManager.getCache(PRODUCTS));
+        this.users = new Region(cacheManager.getCache(USERS));
+    }
+
+    public Optional<CategoryDTO> category(Long id) {
+        return categories.readThrough(id, () -> categoryRepository.findById(id).map(CategoryDTO::fromEntity));
+    }
+
+    public Optional<SupplierDTO> supplier(Long id) {
+        return suppliers.readThrough(id, () -> supplierRepository.findById(id).map(SupplierDTO::fromEntity));
+    }
+
+    public Optional<ProductDTO> product(Long id) {
+        return products.readThrough(id, () -> productRepository.findWithCategoryById(id).map(ProductDTO::fromEntity));
+    }
+
+    public boolean categoryExists(Long id) {
+        return category(id).isPresent();
+    }
+
+    public boolean supplierExists(Long id) {
+        return supplier(id).isPresent();
+    }
+
+    public boolean productExists(Long id) {
+        return product(id).isPresent();
+    }
+
+    /**
+     * Users cannot be deleted through the API, so a positive lookup never goes stale.
+     */
+    public boolean userExists(Long id) {
+        return users.readThrough(id, () -> userRepository.existsById(id) ? Optional.of(Boolean.TRUE) : Optional.empty())
+                .isPresent();
+    }
+
+    public void categoryChanged(CategoryDTO category) {
+        AfterCommit.run(() -> {
+            categories.put(category.getId(), category);
+            // Product DTOs carry the category name
+            products.clear();
+        });
+    }
+
+    public void categoryDeleted(Long id) {
+        AfterCommit.run(() -> {
+            categories.evict(id);
+            products.clear();
+        });
+    }
+
+    public void supplierChanged(SupplierDTO supplier) {
+        AfterCommit.run(() -> suppliers.put(supplier.getId(), supplier));
+    }
+
+    public void supplierDeleted(Long id) {
+        AfterCommit.run(() -> suppliers.evict(id));
+    }
+
+    /**
+     * Evicts rather than stores: a freshly saved product has no category loaded, so
+     * its DTO would be missing the category name.
+     */
+    public void productChanged(Long id) {
+        AfterCommit.run(() -> products.evict(id));
+    }
+
+    public void productDeleted(Long id) {
+        AfterCommit.run(() -> products.evict(id));
+    }
+
+    /**
+     * Hit/miss/eviction counters per cache, recorded by Caffeine ({@code recordStats}).
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (Region region : List.of(categories, suppliers, products, users)) {
+            Cache cache = region.cache;
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+            CacheStats cacheStats = nativeCache.stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", nativeCache.estimatedSize());
+            entry.put("hits", cacheStats.hitCount());
+            entry.put("misses", cacheStats.missCount());
+            entry.put("hitRate", cacheStats.hitRate());
+            entry.put("evictions", cacheStats.evictionCount());
+            stats.put(cache.getName(), entry);
+        }
+        return stats;
+    }
+
+    /**
+     * A cache whose generation moves with every change, under the changed key's lock.
+     * A load caches its result only when the generation has not moved since it began;
+     * a change that commits while the load is running would otherwise be overwritten by
+     * the row as it was before, until the TTL.
+     */
+    private static final class Region {
+        private final Cache cache;
+        private final ConcurrentMap<Object, Object> entries;
+        private final AtomicLong generation = new AtomicLong();
+
+        private Region(Cache cache) {
+            this.cache = cache;
+            this.entries = ((CaffeineCache) cache).getNativeCache().asMap();
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Optional<T> readThrough(Long id, Supplier<Optional<T>> loader) {
+            Cache.ValueWrapper cached = cache.get(id);
+            if (cached != null) {
+                return Optional.ofNullable((T) cached.get());
+            }
+            long started = generation.get();
+            Optional<T> loaded = loader.get();
+            loaded.ifPresent(value -> entries.computeIfAbsent(id, key -> generation.get() == started ? value : null));
+            return loaded;
+        }
+
+        void put(Long id, Object value) {
+            entries.compute(id, (key, previous) -> {
+                generation.incrementAndGet();
+                return value;
+            });
+        }
+
+        void evict(Long id) {
+            entries.compute(id, (key, previous) -> {
+                generation.incrementAndGet();
+                return null;
+            });
+        }
+
+        void clear() {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+}
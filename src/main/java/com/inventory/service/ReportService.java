@@ -0,0 +1,86 @@
+package com.inventory.service;
+
+import com.inventory.dto.ClientSalesDTO;
+import com.inventory.dto.DailySalesDTO;
+import com.inventory.dto.ProductMarginDTO;
+import com.inventory.dto.ProductOnHandDTO;
+import com.inventory.dto.StockValuationDTO;
+import com.inventory.repository.ClientDailyRevenueRepository;
+import com.inventory.repository.ProductDailySalesRepository;
+import com.inventory.repository.ProductStockRollupRepository;
+import com.inventory.repository.SaleItemRepository;
+import com.inventory.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Inventory valuation and sales analytics. Each report is a single GROUP BY query
+ * whose rows are streamed as they are read; nothing is summed in Java.
+ *
+ * Sales, margins and on-hand quantities are read from the rollup tables kept by
+ * {@link InventoryRollups}, so their cost follows the size of the result rather than
+ * of the sales history; only a margin report filtered by supplier, which the rollups
+ * do not carry, aggregates the sale items. Valuation reads the stock table, which
+ * holds current state only.
+ *
+ * Date ranges are whole days, {@code from} and {@code to} inclusive and either
+ * optional. The streams must be consumed inside a transaction and closed.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    public enum ValuationDimension { CATEGORY, SUPPLIER, LOCATION }
+
+    public enum SalesDimension { DAY, CLIENT }
+
+    private final StockRepository stockRepository;
+    private final SaleItemRepository saleItemRepository;
+    private final ProductStockRollupRepository productStockRollupRepository;
+    private final ProductDailySalesRepository productDailySalesRepository;
+    private final ClientDailyRevenueRepository clientDailyRevenueRepository;
+
+    public Stream<StockValuationDTO> valuation(ValuationDimension by, Long categoryId, Long supplierId,
+                                               String location) {
+        return switch (by) {
+            case CATEGORY -> stockRepository.streamValuationByCategory(categoryId, supplierId, location);
+            case SUPPLIER -> stockRepository.streamValuationBySupplier(categoryId, supplierId, location);
+            case LOCATION -> stockRepository.streamValuationByLocation(categoryId, supplierId, location);
+        };
+    }
+
+    public Stream<ProductOnHandDTO> onHand(Long categoryId) {
+        return productStockRollupRepository.streamOnHand(categoryId);
+    }
+
+    public Stream<ProductMarginDTO> margins(LocalDate from, LocalDate to, Long categoryId, Long supplierId) {
+        if (supplierId != null) {
+            return saleItemRepository.streamMarginsByProduct(startOf(from), endOf(to), categoryId, supplierId);
+        }
+        return productDailySalesRepository.streamMarginsByProduct(day(from), day(to), categoryId);
+    }
+
+    public Stream<DailySalesDTO> salesByDay(LocalDate from, LocalDate to, Long clientId) {
+        return clientDailyRevenueRepository.streamTotalsByDay(day(from), day(to), clientId);
+    }
+
+    public Stream<ClientSalesDTO> salesByClient(LocalDate from, LocalDate to, Long clientId) {
+        return clientDailyRevenueRepository.streamTotalsByClient(day(from), day(to), clientId);
+    }
+
+    private static String day(LocalDate day) {
+        return day != null ? day.toString() : null;
+    }
+
+    private static LocalDateTime startOf(LocalDate day) {
+        return day != null ? day.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime endOf(LocalDate day) {
+        return day != null ? day.plusDays(1).atStartOfDay() : null;
+    }
+}
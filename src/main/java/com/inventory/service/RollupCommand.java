@@ -0,0 +1,48 @@
+package com.inventory.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@code --inventory.rollups.command=rebuild} (rebuild, then check) or
+ * {@code =check} against the configured database and exits: 0 when the rollups
+ * match the base tables, 1 when they differ, 2 for an unknown command.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("inventory.rollups.command")
+public class RollupCommand implements ApplicationRunner {
+
+    private final RollupMaintenance rollupMaintenance;
+    private final ConfigurableApplicationContext context;
+    private final String command;
+
+    public RollupCommand(RollupMaintenance rollupMaintenance, ConfigurableApplicationContext context,
+                         @Value("${inventory.rollups.command}") String command) {
+        this.rollupMaintenance = rollupMaintenance;
+        this.context = context;
+        this.command = command;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int status = switch (command) {
+            case "rebuild" -> {
+                rollupMaintenance.rebuild();
+                yield rollupMaintenance.check() == 0 ? 0 : 1;
+            }
+            case "check" -> rollupMaintenance.check() == 0 ? 0 : 1;
+            default -> {
+                log.error("Unknown inventory.rollups.command '{}': use rebuild or check", command);
+                yield 2;
+            }
+        };
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
@@ -0,0 +1,233 @@
+package com.inventory.service;
+
+import com.inventory.model.ClientDailyRevenue;
+import com.inventory.model.ClientDayId;
+import com.inventory.model.ProductDailySales;
+import com.inventory.model.ProductDayId;
+import com.inventory.model.ProductStockRollup;
+import com.inventory.repository.ClientDailyRevenueRepository;
+import com.inventory.repository.ClientRepository;
+import com.inventory.repository.ProductDailySalesRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.ProductStockRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Rebuilds the rollup tables kept by {@link InventoryRollups} from the base tables,
+ * and checks them against the base tables.
+ *
+ * Both work through ranges of {@code inventory.rollups.chunk-size} product ids and
+ * client ids, on {@code inventory.rollups.threads} threads. A rebuild aggregates a
+ * range in a read-only transaction, so ranges are computed in parallel on the reader
+ * connections, then replaces the range's rows in one short write transaction. Writes
+ * made while a rebuild runs can be lost from it, so it is meant to run with the
+ * service stopped (see {@code RollupCommand}).
+ */
+@Slf4j
+@Service
+public class RollupMaintenance {
+
+    private static final BigDecimal TOLERANCE = new BigDecimal("0.005");
+
+    private final ProductRepository productRepository;
+    private final ClientRepository clientRepository;
+    private final ProductStockRollupRepository productStockRollupRepository;
+    private final ProductDailySalesRepository productDailySalesRepository;
+    private final ClientDailyRevenueRepository clientDailyRevenueRepository;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int threads;
+
+    public RollupMaintenance(ProductRepository productRepository,
+                             ClientRepository clientRepository,
+                             ProductStockRollupRepository productStockRollupRepository,
+                             ProductDailySalesRepository productDailySalesRepository,
+                             ClientDailyRevenueRepository clientDailyRevenueRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${inventory.rollups.chunk-size:1000}") int chunkSize,
+                             @Value("${inventory.rollups.threads:0}") int threads) {
+        this.productRepository = productRepository;
+        this.clientRepository = clientRepository;
+        this.productStockRollupRepository = productStockRollupRepository;
+        this.productDailySalesRepository = productDailySalesRepository;
+        this.clientDailyRevenueRepository = clientDailyRevenueRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Recomputes every rollup row. Returns the number of rows written.
+     */
+    public long rebuild() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        ranges(maxProductId()).forEach(from -> tasks.add(() -> rebuildProducts(from, from + chunkSize)));
+        ranges(maxClientId()).forEach(from -> tasks.add(() -> rebuildClients(from, from + chunkSize)));
+        long rows = runAll(tasks);
+        log.info("Rebuilt the rollup tables: {} rows in {} chunks", rows, tasks.size());
+        return rows;
+    }
+
+    /**
+     * Compares every rollup row with the base tables and logs each difference.
+     * Returns the number of differences.
+     */
+    public long check() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        ranges(maxProductId()).forEach(from -> tasks.add(() -> checkProducts(from, from + chunkSize)));
+        ranges(maxClientId()).forEach(from -> tasks.add(() -> checkClients(from, from + chunkSize)));
+        long differences = runAll(tasks);
+        if (differences == 0) {
+            log.info("The rollup tables match the base tables");
+        } else {
+            log.warn("The rollup tables differ from the base tables in {} rows", differences);
+        }
+        return differences;
+    }
+
+    private int rebuildProducts(long from, long to) {
+        List<ProductStockRollup> stock = readOnlyTransaction.execute(
+                status -> productStockRollupRepository.computeRange(from, to));
+        List<ProductDailySales> sales = readOnlyTransaction.execute(
+                status -> productDailySalesRepository.computeRange(from, to));
+        writeTransaction.executeWithoutResult(status -> {
+            productStockRollupRepository.deleteRange(from, to);
+            productDailySalesRepository.deleteRange(from, to);
+            stock.forEach(row -> productStockRollupRepository.add(row.getProductId(), row.getQuantity()));
+            sales.forEach(row -> productDailySalesRepository.add(row.getProductId(), row.getSaleDay(),
+                    row.getUnitsSold(), row.getRevenue(), row.getCost(), row.getMargin()));
+        });
+        return stock.size() + sales.size();
+    }
+
+    private int rebuildClients(long from, long to) {
+        List<ClientDailyRevenue> revenue = readOnlyTransaction.execute(
+                status -> clientDailyRevenueRepository.computeRange(from, to));
+        writeTransaction.executeWithoutResult(status -> {
+            clientDailyRevenueRepository.deleteRange(from, to);
+            revenue.forEach(row -> clientDailyRevenueRepository.add(row.getClientId(), row.getSaleDay(),
+                    row.getSales(), row.getRevenue()));
+        });
+        return revenue.size();
+    }
+
+    private int checkProducts(long from, long to) {
+        // One transaction per range, so both sides are read from the same snapshot
+        return readOnlyTransaction.execute(status -> {
+            int differences = compare("product_stock_rollup",
+                    withoutZero(productStockRollupRepository.computeRange(from, to)),
+                    withoutZero(productStockRollupRepository.findRange(from, to)),
+                    ProductStockRollup::getProductId,
+                    (expected, actual) -> expected.getQuantity().equals(actual.getQuantity()));
+            differences += compare("product_daily_sales",
+                    productDailySalesRepository.computeRange(from, to),
+                    productDailySalesRepository.findRange(from, to),
+                    row -> new ProductDayId(row.getProductId(), row.getSaleDay()),
+                    (expected, actual) -> expected.getUnitsSold().equals(actual.getUnitsSold())
+                            && sameAmount(expected.getRevenue(), actual.getRevenue())
+                            && sameAmount(expected.getCost(), actual.getCost())
+                            && sameAmount(expected.getMargin(), actual.getMargin()));
+            return differences;
+        });
+    }
+
+    private int checkClients(long from, long to) {
+        return readOnlyTransaction.execute(status -> compare("client_daily_revenue",
+                clientDailyRevenueRepository.computeRange(from, to),
+                clientDailyRevenueRepository.findRange(from, to),
+                row -> new ClientDayId(row.getClientId(), row.getSaleDay()),
+                (expected, actual) -> expected.getSales().equals(actual.getSales())
+                        && sameAmount(expected.getRevenue(), actual.getRevenue())));
+    }
+
+    private static <K, R> int compare(String table, List<R> expectedRows, List<R> actualRows, Function<R, K> key,
+                                      BiPredicate<R, R> same) {
+        Map<K, R> expected = expectedRows.stream().collect(Collectors.toMap(key, Function.identity()));
+        Map<K, R> actual = actualRows.stream().collect(Collectors.toMap(key, Function.identity(),
+                (a, b) -> a, HashMap::new));
+        Set<K> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        int differences = 0;
+        for (K k : keys) {
+            R want = expected.get(k);
+            R found = actual.get(k);
+            if (want == null || found == null || !same.test(want, found)) {
+                log.warn("{}: expected {}, found {}", table, want, found);
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    private static List<ProductStockRollup> withoutZero(List<ProductStockRollup> rows) {
+        return rows.stream().filter(row -> row.getQuantity() != 0).toList();
+    }
+
+    /**
+     * SQLite keeps the sums as floating point, so amounts match to the cent.
+     */
+    private static boolean sameAmount(BigDecimal expected, BigDecimal actual) {
+        if (expected == null || actual == null) {
+            return Objects.equals(expected, actual);
+        }
+        return expected.subtract(actual).abs().compareTo(TOLERANCE) < 0;
+    }
+
+    private long maxProductId() {
+        return readOnlyTransaction.execute(status -> Math.max(productRepository.findMaxId(),
+                Math.max(productStockRollupRepository.findMaxProductId(),
+                        productDailySalesRepository.findMaxProductId())));
+    }
+
+    private long maxClientId() {
+        return readOnlyTransaction.execute(status -> Math.max(clientRepository.findMaxId(),
+                clientDailyRevenueRepository.findMaxClientId()));
+    }
+
+    private LongStream ranges(long maxId) {
+        return LongStream.iterate(0, from -> from <= maxId, from -> from + chunkSize);
+    }
+
+    private long runAll(List<Callable<Integer>> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long total = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                total += result.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing the rollup tables", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Processing the rollup tables failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
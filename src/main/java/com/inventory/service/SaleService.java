@@ -0,0 +1,189 @@
+package com.inventory.service;
+
+import com.inventory.dto.SaleDTO;
+import com.inventory.dto.SaleRequest;
+import com.inventory.dto.StockDTO;
+import com.inventory.model.ChangeLogEntry;
+import com.inventory.model.Sale;
+import com.inventory.model.SaleItem;
+import com.inventory.model.Stock;
+import com.inventory.repository.ClientRepository;
+import com.inventory.repository.SaleRepository;
+import com.inventory.repository.StockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout: validates a basket, takes the quantities off stock and records the sale.
+ *
+ * Quantities are taken with conditional decrements ({@code quantity >= ?} in the
+ * WHERE clause), so concurrent checkouts only contend on the rows they touch and a
+ * decrement that would oversell matches nothing and rolls the whole sale back.
+ * Lines given by product are expanded into batches by {@link StockAllocator}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SaleService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int ALLOCATION_ATTEMPTS = 3;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final SaleRepository saleRepository;
+    private final StockRepository stockRepository;
+    private final ClientRepository clientRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final StockAllocator stockAllocator;
+    private final InventoryMetrics inventoryMetrics;
+    private final InventoryRollups inventoryRollups;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+
+    @Transactional
+    public SaleDTO checkout(SaleRequest request) {
+        // Merge repeated lines and decrement in id order so concurrent baskets lock rows consistently
+        Map<Long, Integer> stockLines = request.getItems().stream()
+                .filter(item -> item.getStockId() != null)
+                .collect(Collectors.toMap(SaleRequest.Item::getStockId, SaleRequest.Item::getQuantity,
+                        Integer::sum, TreeMap::new));
+        Map<Long, Integer> productLines = request.getItems().stream()
+                .filter(item -> item.getProductId() != null)
+                .collect(Collectors.toMap(SaleRequest.Item::getProductId, SaleRequest.Item::getQuantity,
+                        Integer::sum, TreeMap::new));
+
+        if (!clientRepository.existsById(request.getClientId())) {
+            throw new SaleValidationException("Client with ID " + request.getClientId() + " not found.");
+        }
+        if (!referenceDataCache.userExists(request.getUserId())) {
+            throw new SaleValidationException("User with ID " + request.getUserId() + " not found.");
+        }
+
+        Map<Long, Stock> stocks = stockRepository.findAllById(stockLines.keySet()).stream()
+                .collect(Collectors.toMap(Stock::getId, Function.identity(), (a, b) -> a, HashMap::new));
+        for (Long stockId : stockLines.keySet()) {
+            if (!stocks.containsKey(stockId)) {
+                throw new SaleValidationException("Stock item with ID " + stockId + " not found.");
+            }
+        }
+
+        // Quantity taken per stock id by this sale
+        Map<Long, Integer> basket = new TreeMap<>();
+        for (Map.Entry<Long, Integer> line : stockLines.entrySet()) {
+            Stock stock = stocks.get(line.getKey());
+            if (stockRepository.decrementQuantity(line.getKey(), line.getValue()) == 0) {
+                throw new InsufficientStockException(line.getKey(), line.getValue());
+            }
+            stockAllocator.quantityTaken(stock.getProductId(), line.getKey(), line.getValue());
+            basket.merge(line.getKey(), line.getValue(), Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> line : productLines.entrySet()) {
+            takeFirstExpiring(line.getKey(), line.getValue(), basket);
+        }
+
+        Set<Long> allocated = new HashSet<>(basket.keySet());
+        allocated.removeAll(stocks.keySet());
+        if (!allocated.isEmpty()) {
+            stockRepository.findAllById(allocated).forEach(stock -> stocks.put(stock.getId(), stock));
+        }
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : basket.entrySet()) {
+            BigDecimal price = stocks.get(line.getKey()).getSellingPrice();
+            subtotal = subtotal.add(price.multiply(BigDecimal.valueOf(line.getValue())));
+        }
+
+        Sale sale = new Sale();
+        sale.setClientId(request.getClientId());
+        sale.setUserId(request.getUserId());
+        sale.setPaymentMethod(request.getPaymentMethod());
+        sale.setDiscountApplied(request.getDiscountApplied());
+        sale.setTotalAmount(applyDiscount(subtotal, request.getDiscountApplied()));
+        sale = saleRepository.save(sale);
+
+        List<SaleItem> saleItems = new ArrayList<>(basket.size());
+        List<DomainEvent.SaleCompleted.Line> soldLines = new ArrayList<>(basket.size());
+        for (Map.Entry<Long, Integer> line : basket.entrySet()) {
+            Stock stock = stocks.get(line.getKey());
+            soldLines.add(new DomainEvent.SaleCompleted.Line(line.getKey(), stock.getProductId(),
+                    stock.getExpirationDate(), line.getValue()));
+            SaleItem saleItem = new SaleItem();
+            saleItem.setSaleId(sale.getId());
+            saleItem.setStockId(line.getKey());
+            saleItem.setQuantitySold(line.getValue());
+            saleItem.setUnitPriceAtSale(stock.getSellingPrice());
+            // persist directly: the assigned composite id would make save() merge with an extra select
+            entityManager.persist(saleItem);
+            saleItems.add(saleItem);
+        }
+        inventoryRollups.saleRecorded(sale, saleItems, stocks);
+        inventoryMetrics.saleCompleted(basket.values().stream().mapToLong(Integer::longValue).sum());
+        // Read back: the decrements bypass the loaded entities, which still hold the old quantities
+        changeLog.upsertAll(ChangeLogEntry.EntityType.STOCK, stockRepository.findDtosByIdIn(basket.keySet()),
+                StockDTO::getId);
+        outbox.publish(new DomainEvent.SaleCompleted(sale.getId(), sale.getClientId(), sale.getTotalAmount(),
+                soldLines));
+
+        return SaleDTO.fromEntity(sale, saleItems);
+    }
+
+    /**
+     * Takes a product line from its batches first-expiry-first-out. The index can be
+     * behind the database either way: when a planned batch turns out to have been sold
+     * by a checkout that committed in the meantime, or when a plan falls short of what
+     * the rows may hold, the product is reloaded and the remainder planned again. A
+     * shortage on freshly loaded batches fails the sale.
+     */
+    private void takeFirstExpiring(Long productId, int quantity, Map<Long, Integer> basket) {
+        int remaining = quantity;
+        boolean reloaded = false;
+        for (int attempt = 1; remaining > 0; attempt++) {
+            AllocationPlan plan = stockAllocator.allocate(productId, remaining, basket);
+            if (!plan.isComplete() && !reloaded) {
+                stockAllocator.invalidate(productId);
+                reloaded = true;
+                plan = stockAllocator.allocate(productId, remaining, basket);
+            }
+            if (!plan.isComplete()) {
+                throw InsufficientStockException.forProduct(productId, quantity);
+            }
+            for (AllocationPlan.Line line : plan.getLines()) {
+                if (stockRepository.decrementQuantity(line.getStockId(), line.getQuantity()) == 0) {
+                    stockAllocator.invalidate(productId);
+                    reloaded = true;
+                    if (attempt == ALLOCATION_ATTEMPTS) {
+                        throw InsufficientStockException.forProduct(productId, quantity);
+                    }
+                    break;
+                }
+                stockAllocator.quantityTaken(productId, line.getStockId(), line.getQuantity());
+                basket.merge(line.getStockId(), line.getQuantity(), Integer::sum);
+                remaining -= line.getQuantity();
+            }
+        }
+    }
+
+    private static BigDecimal applyDiscount(BigDecimal subtotal, BigDecimal discountPercent) {
+        if (discountPercent == null || discountPercent.signum() == 0) {
+            return subtotal.setScale(2, RoundingMode.HALF_UP);
+        }
+        BigDecimal factor = HUNDRED.subtract(discountPercent).divide(HUNDRED);
+        return subtotal.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.service;
+
+/**
+ * The basket refers to a client, user or stock item that does not exist.
+ */
+public class SaleValidationException extends RuntimeException {
+
+    public SaleValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package com.inventory.service;
+
+import com.inventory.dto.StockDTO;
+import com.inventory.model.ChangeLogEntry;
+import com.inventory.model.Stock;
+import com.inventory.repository.StockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Relative quantity changes (counts, breakage, returns to a batch) without locking the row.
+ *
+ * Each attempt reads the stock row, applies the delta and writes it back guarded by
+ * the row's version. When another update committed in between, the attempt rolls
+ * back and is retried on a fresh read after a short randomized pause, up to
+ * {@code inventory.stock.adjust-attempts} times; lost attempts are counted as
+ * {@code inventory.stock.adjust.conflicts}. Only when every attempt loses does the
+ * {@link OptimisticLockingFailureException} reach the caller.
+ */
+@Service
+public class StockAdjustments {
+
+    private static final long BACKOFF_MILLIS = 5;
+
+    private final StockRepository stockRepository;
+    private final StockAllocator stockAllocator;
+    private final InventoryRollups inventoryRollups;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int attempts;
+    private final Counter conflicts;
+
+    public StockAdjustments(StockRepository stockRepository,
+                            StockAllocator stockAllocator,
+                            InventoryRollups inventoryRollups,
+                            ChangeLog changeLog,
+                            Outbox outbox,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.stock.adjust-attempts:3}") int attempts) {
+        this.stockRepository = stockRepository;
+        this.stockAllocator = stockAllocator;
+        this.inventoryRollups = inventoryRollups;
+        this.changeLog = changeLog;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attempts = Math.max(1, attempts);
+        this.conflicts = Counter.builder("inventory.stock.adjust.conflicts")
+                .description("Stock adjustments retried because the row was updated concurrently")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds {@code delta} (negative to take away) to the quantity of a stock item.
+     *
+     * @return the updated stock item, or empty if it does not exist
+     * @throws InsufficientStockException when the quantity would go below zero
+     */
+    public Optional<StockDTO> adjust(Long stockId, int delta) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> stockRepository.findById(stockId)
+                        .map(stock -> apply(stock, delta)));
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt == attempts) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private StockDTO apply(Stock stock, int delta) {
+        int previousQuantity = stock.getQuantity();
+        long quantity = (long) previousQuantity + delta;
+        if (quantity < 0) {
+            throw new InsufficientStockException(stock.getId(), -delta);
+        }
+        stock.setQuantity((int) quantity);
+        stockRepository.saveAndFlush(stock);
+        stockAllocator.stockUpdated(stock.getProductId(), stock);
+        inventoryRollups.stockUpdated(stock.getProductId(), previousQuantity, stock);
+        StockDTO adjusted = stockRepository.findDtoById(stock.getId()).orElseThrow();
+        changeLog.upsert(ChangeLogEntry.EntityType.STOCK, adjusted.getId(), adjusted);
+        outbox.publish(new DomainEvent.StockAdjusted(stock.getId(),
+                stock.getProductId(), stock.getExpirationDate(), previousQuantity,
+                stock.getProductId(), stock.getExpirationDate(), stock.getQuantity()));
+        return adjusted;
+    }
+
+    /** Randomized so that writers that collided once do not collide again in lockstep. */
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, BACKOFF_MILLIS * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a stock adjustment", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.inventory.service;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * A reorder or expiry condition for one product. Low-stock alerts carry the
+ * product's total quantity and the threshold; expiry alerts carry the quantity
+ * that expires on {@code expirationDate}.
+ */
+@Value
+public class StockAlert {
+
+    public enum Type {
+        EXPIRED, EXPIRING, LOW_STOCK
+    }
+
+    Type type;
+    Long productId;
+    long quantity;
+    Integer threshold;
+    LocalDate expirationDate;
+
+    static StockAlert lowStock(Long productId, long quantity, int threshold) {
+        return new StockAlert(Type.LOW_STOCK, productId, quantity, threshold, null);
+    }
+
+    static StockAlert expiry(Long productId, long quantity, LocalDate expirationDate, LocalDate today) {
+        Type type = expirationDate.isBefore(today) ? Type.EXPIRED : Type.EXPIRING;
+        return new StockAlert(type, productId, quantity, null, expirationDate);
+    }
+}
@@ -0,0 +1,262 @@
+package com.inventory.service;
+
+import com.inventory.repository.OutboxEventRepository;
+import com.inventory.repository.StockRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reorder and expiry alerts, kept up to date from stock deltas instead of polling.
+ *
+ * Two structures are held in memory: the total quantity per product, zero for
+ * products that have no stock, and an expiry wheel of quantity per product bucketed
+ * by expiration date. Both are loaded once at startup with a single grouped query
+ * from the product table, before the server accepts requests, and then adjusted
+ * from the stock, sale and product events delivered by the {@link Outbox}. Events still in the outbox at startup are already part of the
+ * loaded quantities and are skipped. Memory grows with products and distinct
+ * expiration dates, not with stock rows.
+ *
+ * A product is low on stock while its total is below
+ * {@code inventory.alerts.low-stock-threshold}; a dated quantity is expiring once
+ * it is within {@code inventory.alerts.expiry-warning-days} and expired after its
+ * date. New alerts, and low-stock alerts that clear, are pushed to the
+ * server-sent-event subscribers from a single dispatch thread.
+ */
+@Component
+public class StockAlerts implements DomainEventSubscriber, SmartInitializingSingleton, DisposableBean {
+
+    private static final Comparator<StockAlert> ORDER = Comparator
+            .comparing(StockAlert::getType)
+            .thenComparing(StockAlert::getExpirationDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(StockAlert::getProductId);
+
+    private final StockRepository stockRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate loadTransaction;
+    private final int lowStockThreshold;
+    private final int expiryWarningDays;
+    private final long subscriberTimeoutMs;
+
+    private final Map<Long, Long> totals = new HashMap<>();
+    private final NavigableMap<LocalDate, Map<Long, Long>> expiring = new TreeMap<>();
+    private LocalDate lastExpiryCheck = LocalDate.now();
+    /** Outbox events up to this id were committed before the quantities were loaded. */
+    private long loadedUpTo;
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StockAlerts(StockRepository stockRepository,
+                       OutboxEventRepository outboxEventRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${inventory.alerts.low-stock-threshold:10}") int lowStockThreshold,
+                       @Value("${inventory.alerts.expiry-warning-days:30}") int expiryWarningDays,
+                       @Value("${inventory.alerts.subscriber-timeout-ms:1800000}") long subscriberTimeoutMs) {
+        this.stockRepository = stockRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+        this.lowStockThreshold = lowStockThreshold;
+        this.expiryWarningDays = expiryWarningDays;
+        this.subscriberTimeoutMs = subscriberTimeoutMs;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadTransaction.executeWithoutResult(status -> {
+            synchronized (this) {
+                // Read first: nothing else writes before the server starts (it is the only instance,
+                // see InstanceLock), so later ids are not in the sums
+                loadedUpTo = outboxEventRepository.findMaxId();
+                for (StockRepository.QuantityByExpiration row : stockRepository.sumQuantityByProductAndExpiration()) {
+                    apply(row.getProductId(), row.getExpirationDate(), row.getQuantity());
+                }
+            }
+        });
+    }
+
+    public synchronized List<StockAlert> current() {
+        LocalDate today = LocalDate.now();
+        List<StockAlert> alerts = new ArrayList<>();
+        totals.forEach((productId, total) -> {
+            if (total < lowStockThreshold) {
+                alerts.add(StockAlert.lowStock(productId, total, lowStockThreshold));
+            }
+        });
+        expiring.headMap(today.plusDays(expiryWarningDays), true).forEach((date, products) ->
+                products.forEach((productId, quantity) ->
+                        alerts.add(StockAlert.expiry(productId, quantity, date, today))));
+        alerts.sort(ORDER);
+        return alerts;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(subscriberTimeoutMs);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @Override
+    public void on(long id, DomainEvent event) {
+        if (id <= loadedUpTo) {
+            return;
+        }
+        if (event instanceof DomainEvent.StockDeposited deposited) {
+            adjust(deposited.productId(), deposited.expirationDate(), deposited.quantity());
+        } else if (event instanceof DomainEvent.StockAdjusted adjusted) {
+            adjust(adjusted.previousProductId(), adjusted.previousExpirationDate(), -adjusted.previousQuantity());
+            adjust(adjusted.productId(), adjusted.expirationDate(), adjusted.quantity());
+        } else if (event instanceof DomainEvent.SaleCompleted sale) {
+            for (DomainEvent.SaleCompleted.Line line : sale.lines()) {
+                adjust(line.productId(), line.expirationDate(), -line.quantity());
+            }
+        } else if (event instanceof DomainEvent.ProductChanged changed && changed.product() == null) {
+            // Its stock rows are gone by then, so only the total (zero, and otherwise
+            // reported as low stock) is left
+            synchronized (this) {
+                totals.remove(changed.productId());
+            }
+        } else if (event instanceof DomainEvent.ProductChanged changed) {
+            track(changed.productId());
+        }
+    }
+
+    /**
+     * Advances the expiry window by day: quantities whose date has just come within the
+     * warning period, or has just passed, are announced to subscribers.
+     */
+    @Scheduled(cron = "${inventory.alerts.expiry-check-cron:0 0 0 * * *}")
+    public void checkExpiry() {
+        List<StockAlert> alerts = new ArrayList<>();
+        synchronized (this) {
+            LocalDate today = LocalDate.now();
+            if (!today.isAfter(lastExpiryCheck)) {
+                return;
+            }
+            LocalDate previousHorizon = lastExpiryCheck.plusDays(expiryWarningDays);
+            expiring.subMap(previousHorizon, false, today.plusDays(expiryWarningDays), true)
+                    .forEach((date, products) -> products.forEach((productId, quantity) ->
+                            alerts.add(StockAlert.expiry(productId, quantity, date, today))));
+            expiring.subMap(lastExpiryCheck, true, today, false)
+                    .forEach((date, products) -> products.forEach((productId, quantity) ->
+                            alerts.add(StockAlert.expiry(productId, quantity, date, today))));
+            lastExpiryCheck = today;
+        }
+        alerts.forEach(alert -> publish("alert", alert));
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private void adjust(Long productId, LocalDate expirationDate, long delta) {
+        if (productId == null || delta == 0) {
+            return;
+        }
+        StockAlert raised = null;
+        StockAlert cleared = null;
+        synchronized (this) {
+            LocalDate today = LocalDate.now();
+            long before = totals.getOrDefault(productId, 0L);
+            long datedBefore = datedQuantity(productId, expirationDate);
+            apply(productId, expirationDate, delta);
+            long after = totals.get(productId);
+
+            if (before >= lowStockThreshold && after < lowStockThreshold) {
+                raised = StockAlert.lowStock(productId, after, lowStockThreshold);
+            } else if (before < lowStockThreshold && after >= lowStockThreshold) {
+                cleared = StockAlert.lowStock(productId, after, lowStockThreshold);
+            } else if (datedBefore == 0 && delta > 0 && expirationDate != null
+                    && !expirationDate.isAfter(today.plusDays(expiryWarningDays))) {
+                raised = StockAlert.expiry(productId, delta, expirationDate, today);
+            }
+        }
+        if (raised != null) {
+            publish("alert", raised);
+        }
+        if (cleared != null) {
+            publish("resolved", cleared);
+        }
+    }
+
+    /**
+     * A new product starts with a total of zero, so it is low on stock until it is stocked.
+     */
+    private void track(Long productId) {
+        StockAlert raised = null;
+        synchronized (this) {
+            if (totals.putIfAbsent(productId, 0L) == null && lowStockThreshold > 0) {
+                raised = StockAlert.lowStock(productId, 0, lowStockThreshold);
+            }
+        }
+        if (raised != null) {
+            publish("alert", raised);
+        }
+    }
+
+    private void apply(Long productId, LocalDate expirationDate, long delta) {
+        totals.merge(productId, delta, Long::sum);
+        if (expirationDate == null) {
+            return;
+        }
+        Map<Long, Long> products = expiring.computeIfAbsent(expirationDate, date -> new HashMap<>());
+        if (products.merge(productId, delta, Long::sum) <= 0) {
+            products.remove(productId);
+        }
+        if (products.isEmpty()) {
+            expiring.remove(expirationDate);
+        }
+    }
+
+    private long datedQuantity(Long productId, LocalDate expirationDate) {
+        if (expirationDate == null) {
+            return 0;
+        }
+        Map<Long, Long> products = expiring.get(expirationDate);
+        return products == null ? 0 : products.getOrDefault(productId, 0L);
+    }
+
+    private void publish(String event, StockAlert alert) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (SseEmitter emitter : subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().name(event).data(alert));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+}
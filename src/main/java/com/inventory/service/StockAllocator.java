@@ -0,0 +1,217 @@
+package com.inventory.service;
+
+import com.inventory.model.Stock;
+import com.inventory.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * First-expiry-first-out batch allocation backed by an in-memory index.
+ *
+ * Each product's batches are kept in a set ordered by expiration date (undated
+ * batches last), then id. A product is loaded from the database the first time it
+ * is allocated, on the caller's connection and in its transaction, and is then kept
+ * in step by the stock write paths. The index holds committed quantities: what the
+ * caller has already taken shows in the rows it reads, so the load adds it back.
+ * Expired batches are never allocated.
+ *
+ * The index is advisory: the database stays authoritative through the conditional
+ * decrements at checkout, and a product whose index turns out to be stale is
+ * dropped with {@link #invalidate(Long)} and reloaded on next use.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAllocator {
+
+    private static final Comparator<Batch> FEFO = Comparator
+            .comparing((Batch batch) -> batch.expirationDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(batch -> batch.stockId);
+
+    private final StockRepository stockRepository;
+    private final ConcurrentMap<Long, ProductBatches> byProduct = new ConcurrentHashMap<>();
+
+    public AllocationPlan allocate(Long productId, int quantity) {
+        return allocate(productId, quantity, Map.of());
+    }
+
+    /**
+     * @param alreadyTaken quantities per stock id already decremented by the caller's
+     *                     open transaction, which the index does not reflect until commit
+     */
+    public AllocationPlan allocate(Long productId, int quantity, Map<Long, Integer> alreadyTaken) {
+        return batches(productId, alreadyTaken).allocate(quantity, LocalDate.now(), alreadyTaken);
+    }
+
+    public void stockSaved(Stock stock) {
+        stockUpdated(stock.getProductId(), stock);
+    }
+
+    /**
+     * @param previousProductId the product the stock row belonged to before the update
+     */
+    public void stockUpdated(Long previousProductId, Stock stock) {
+        Batch batch = new Batch(stock);
+        Long productId = stock.getProductId();
+        AfterCommit.run(() -> {
+            if (!Objects.equals(previousProductId, productId)) {
+                ifLoaded(previousProductId, batches -> batches.remove(batch.stockId));
+            }
+            ifLoaded(productId, batches -> batches.put(batch));
+        });
+    }
+
+    public void stockDeleted(Stock stock) {
+        Long stockId = stock.getId();
+        AfterCommit.run(() -> ifLoaded(stock.getProductId(), batches -> batches.remove(stockId)));
+    }
+
+    public void quantityTaken(Long productId, Long stockId, int quantity) {
+        AfterCommit.run(() -> ifLoaded(productId, batches -> batches.take(stockId, quantity)));
+    }
+
+    public void invalidate(Long productId) {
+        byProduct.remove(productId);
+    }
+
+    private ProductBatches batches(Long productId, Map<Long, Integer> alreadyTaken) {
+        ProductBatches batches = byProduct.computeIfAbsent(productId, ProductBatches::new);
+        batches.ensureLoaded(alreadyTaken);
+        return batches;
+    }
+
+    private void ifLoaded(Long productId, Consumer<ProductBatches> change) {
+        ProductBatches batches = byProduct.get(productId);
+        if (batches != null) {
+            change.accept(batches);
+        }
+    }
+
+    private static final class Batch {
+        private final Long stockId;
+        private final LocalDate expirationDate;
+        private final String location;
+        private final BigDecimal sellingPrice;
+        private int quantity;
+
+        private Batch(Stock stock) {
+            this.stockId = stock.getId();
+            this.expirationDate = stock.getExpirationDate();
+            this.location = stock.getLocation();
+            this.sellingPrice = stock.getSellingPrice();
+            this.quantity = stock.getQuantity();
+        }
+
+        private Batch(StockRepository.Batch row, int alreadyTaken) {
+            this.stockId = row.getId();
+            this.expirationDate = row.getExpirationDate();
+            this.location = row.getLocation();
+            this.sellingPrice = row.getSellingPrice();
+            this.quantity = row.getQuantity() + alreadyTaken;
+        }
+    }
+
+    /**
+     * All methods hold the instance lock; a write that arrives while the product is
+     * being loaded waits and is then applied on top of the loaded rows. The lock is a
+     * {@link ReentrantLock} rather than a monitor because the load runs a query while
+     * holding it, which would pin a virtual thread to its carrier.
+     */
+    private final class ProductBatches {
+        private final Long productId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeSet<Batch> queue = new TreeSet<>(FEFO);
+        private final Map<Long, Batch> byStockId = new HashMap<>();
+        private boolean loaded;
+
+        private ProductBatches(Long productId) {
+            this.productId = productId;
+        }
+
+        void ensureLoaded(Map<Long, Integer> alreadyTaken) {
+            lock.lock();
+            try {
+                if (!loaded) {
+                    stockRepository.findBatchesByProductId(productId).forEach(row ->
+                            put(new Batch(row, alreadyTaken.getOrDefault(row.getId(), 0))));
+                    loaded = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        AllocationPlan allocate(int quantity, LocalDate today, Map<Long, Integer> alreadyTaken) {
+            lock.lock();
+            try {
+                List<AllocationPlan.Line> lines = new ArrayList<>();
+                int remaining = quantity;
+                for (Batch batch : queue) {
+                    if (remaining == 0) {
+                        break;
+                    }
+                    int available = batch.quantity - alreadyTaken.getOrDefault(batch.stockId, 0);
+                    if (available <= 0 || (batch.expirationDate != null && batch.expirationDate.isBefore(today))) {
+                        continue;
+                    }
+                    int taken = Math.min(remaining, available);
+                    lines.add(new AllocationPlan.Line(batch.stockId, taken, batch.expirationDate,
+                            batch.location, batch.sellingPrice));
+                    remaining -= taken;
+                }
+                return new AllocationPlan(productId, quantity, quantity - remaining, lines);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Batch batch) {
+            lock.lock();
+            try {
+                remove(batch.stockId);
+                queue.add(batch);
+                byStockId.put(batch.stockId, batch);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Long stockId) {
+            lock.lock();
+            try {
+                Batch existing = byStockId.remove(stockId);
+                if (existing != null) {
+                    queue.remove(existing);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void take(Long stockId, int quantity) {
+            lock.lock();
+            try {
+                Batch batch = byStockId.get(stockId);
+                if (batch != null) {
+                    // quantity is not part of the ordering, so the batch can be updated in place
+                    batch.quantity -= quantity;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
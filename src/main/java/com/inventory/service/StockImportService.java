@@ -0,0 +1,286 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventory.dto.BulkImportResult;
+import com.inventory.dto.StockDTO;
+import com.inventory.dto.StockRequest;
+import com.inventory.model.ChangeLogEntry;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockRepository;
+import com.inventory.repository.SupplierRepository;
+import com.inventory.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Streams a delivery file of stock rows into the stock table.
+ *
+ * The body is read line by line and handled in chunks: each chunk checks its
+ * foreign keys with one {@code IN (...)} query per referenced table and inserts its
+ * valid rows with multi-row {@code INSERT ... RETURNING id} statements in its own
+ * transaction, so exactly the rows it inserted are read back for the change log. Rows that fail are reported
+ * by line number and do not stop the import.
+ */
+@Service
+public class StockImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_STOCK = "insert into stock (product_id, supplier_id, location, quantity, "
+            + "cost_price, selling_price, deposited_by_user_id, deposited_at, expiration_date) values ";
+    private static final String STOCK_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] STOCK_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.INTEGER,
+            Types.DECIMAL, Types.DECIMAL, Types.BIGINT, Types.TIMESTAMP, Types.DATE};
+    /** Keeps a multi-row insert well under the bind parameter limits of SQLite (32766) and PostgreSQL (65535). */
+    private static final int ROWS_PER_INSERT = 1000;
+
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final UserRepository userRepository;
+    private final StockRepository stockRepository;
+    private final StockAllocator stockAllocator;
+    private final InventoryMetrics inventoryMetrics;
+    private final InventoryRollups inventoryRollups;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final CsvMapper csvMapper;
+    private final int chunkSize;
+
+    public StockImportService(ProductRepository productRepository,
+                              SupplierRepository supplierRepository,
+                              UserRepository userRepository,
+                              StockRepository stockRepository,
+                              StockAllocator stockAllocator,
+                              InventoryMetrics inventoryMetrics,
+                              InventoryRollups inventoryRollups,
+                              ChangeLog changeLog,
+                              Outbox outbox,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${inventory.bulk.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
+        this.userRepository = userRepository;
+        this.stockRepository = stockRepository;
+        this.stockAllocator = stockAllocator;
+        this.inventoryMetrics = inventoryMetrics;
+        this.inventoryRollups = inventoryRollups;
+        this.changeLog = changeLog;
+        this.outbox = outbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.readerFor(StockRequest.class);
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addModule(new JavaTimeModule())
+                .build();
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkImportResult importNdjson(InputStream body) throws IOException {
+        return importLines(body, jsonReader, false);
+    }
+
+    /**
+     * The first line is the header and names the columns with the same keys as the
+     * JSON body of {@code POST /api/stocks}. Quoted fields may not span lines.
+     */
+    public BulkImportResult importCsv(InputStream body) throws IOException {
+        return importLines(body, null, true);
+    }
+
+    private BulkImportResult importLines(InputStream body, ObjectReader reader, boolean csv) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (reader == null) {
+                    reader = csvReader(line);
+                    continue;
+                }
+
+                try {
+                    chunk.add(new Row(lineNumber, reader.readValue(line)));
+                } catch (InvalidFormatException e) {
+                    reject(result, lineNumber, e.getTargetType() == LocalDate.class
+                            ? "Invalid date format for expiration_date. Use YYYY-MM-DD."
+                            : "Malformed row: " + e.getOriginalMessage());
+                } catch (JsonProcessingException e) {
+                    reject(result, lineNumber, "Malformed row: " + e.getOriginalMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        if (csv && reader == null) {
+            reject(result, 1, "CSV body has no header line");
+        }
+        return result;
+    }
+
+    private ObjectReader csvReader(String headerLine) {
+        CsvSchema.Builder schema = CsvSchema.builder();
+        for (String column : headerLine.split(",")) {
+            schema.addColumn(column.trim());
+        }
+        return csvMapper.readerFor(StockRequest.class).with(schema.build());
+    }
+
+    private void importChunk(List<Row> chunk, BulkImportResult result) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> supplierIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Row row : chunk) {
+            addIfPresent(productIds, row.request.getProductId());
+            addIfPresent(supplierIds, row.request.getSupplierId());
+            addIfPresent(userIds, row.request.getDepositedByUserId());
+        }
+        Set<Long> existingProducts = productIds.isEmpty() ? Set.of() : productRepository.findExistingIds(productIds);
+        Set<Long> existingSuppliers = supplierIds.isEmpty() ? Set.of() : supplierRepository.findExistingIds(supplierIds);
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds);
+
+        List<Object[]> batch = new ArrayList<>(chunk.size());
+        Map<Long, Long> unitsByProduct = new TreeMap<>();
+        Timestamp depositedAt = Timestamp.valueOf(LocalDateTime.now());
+        for (Row row : chunk) {
+            StockRequest request = row.request;
+            if (request.getProductId() == null || request.getSupplierId() == null || request.getQuantity() == null
+                    || request.getSellingPrice() == null || request.getDepositedByUserId() == null) {
+                reject(result, row.line,
+                        "Missing required fields: product_id, supplier_id, quantity, selling_price, deposited_by_user_id");
+                continue;
+            }
+            if (!existingProducts.contains(request.getProductId())) {
+                reject(result, row.line, "Product with ID " + request.getProductId() + " not found.");
+                continue;
+            }
+            if (!existingSuppliers.contains(request.getSupplierId())) {
+                reject(result, row.line, "Supplier with ID " + request.getSupplierId() + " not found.");
+                continue;
+            }
+            if (!existingUsers.contains(request.getDepositedByUserId())) {
+                reject(result, row.line, "User with ID " + request.getDepositedByUserId() + " not found.");
+                continue;
+            }
+
+            Date expirationDate = request.getExpirationDate() == null ? null : Date.valueOf(request.getExpirationDate());
+            batch.add(new Object[]{
+                    request.getProductId(), request.getSupplierId(), request.getLocation(), request.getQuantity(),
+                    request.getCostPrice(), request.getSellingPrice(), request.getDepositedByUserId(),
+                    depositedAt, expirationDate});
+            unitsByProduct.merge(request.getProductId(), (long) request.getQuantity(), Long::sum);
+        }
+
+        if (!batch.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = insertStock(batch);
+                unitsByProduct.forEach(inventoryRollups::quantityAdded);
+                List<StockDTO> inserted = stockRepository.findDtosByIdIn(ids);
+                changeLog.upsertAll(ChangeLogEntry.EntityType.STOCK, inserted, StockDTO::getId);
+                outbox.publishAll(inserted.stream()
+                        .map(stock -> new DomainEvent.StockDeposited(stock.getId(), stock.getProductId(),
+                                stock.getExpirationDate() == null ? null : LocalDate.parse(stock.getExpirationDate()),
+                                stock.getQuantity()))
+                        .toList());
+            });
+            result.setInserted(result.getInserted() + batch.size());
+            // Affected products are reloaded by the allocator on next use rather than indexed row by row
+            unitsByProduct.keySet().forEach(stockAllocator::invalidate);
+            long units = unitsByProduct.values().stream().mapToLong(Long::longValue).sum();
+            inventoryMetrics.stockDeposited(batch.size(), units);
+        }
+    }
+
+    /**
+     * @return the ids of the inserted rows, taken from the inserts themselves: rows
+     * committed concurrently by other transactions may interleave with them
+     */
+    private List<Long> insertStock(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += ROWS_PER_INSERT) {
+            List<Object[]> slice = rows.subList(from, Math.min(rows.size(), from + ROWS_PER_INSERT));
+            StringJoiner values = new StringJoiner(", ", INSERT_STOCK, " returning id");
+            Object[] args = new Object[slice.size() * STOCK_TYPES.length];
+            int[] types = new int[args.length];
+            for (int i = 0; i < slice.size(); i++) {
+                values.add(STOCK_VALUES);
+                System.arraycopy(slice.get(i), 0, args, i * STOCK_TYPES.length, STOCK_TYPES.length);
+                System.arraycopy(STOCK_TYPES, 0, types, i * STOCK_TYPES.length, STOCK_TYPES.length);
+            }
+            ids.addAll(jdbcTemplate.queryForList(values.toString(), args, types, Long.class));
+        }
+        return ids;
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static void reject(BulkImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BulkImportResult.RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static final class Row {
+        private final long line;
+        private final StockRequest request;
+
+        private Row(long line, StockRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
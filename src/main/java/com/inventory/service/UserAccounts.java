@@ -0,0 +1,61 @@
+package com.inventory.service;
+
+import com.inventory.dto.RegisterRequest;
+import com.inventory.model.Auth;
+import com.inventory.model.User;
+import com.inventory.repository.AuthRepository;
+import com.inventory.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Creates users. The password is hashed by {@link PasswordHasher}; the user and its
+ * credentials are then inserted in one transaction on the application task executor,
+ * so neither a request thread nor a hashing thread waits for the database write.
+ */
+@Service
+public class UserAccounts {
+
+    private final UserRepository userRepository;
+    private final AuthRepository authRepository;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+
+    public UserAccounts(UserRepository userRepository,
+                        AuthRepository authRepository,
+                        PasswordHasher passwordHasher,
+                        PlatformTransactionManager transactionManager,
+                        @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.userRepository = userRepository;
+        this.authRepository = authRepository;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * @throws HashingCapacityExceededException when the hashing queue is full
+     */
+    public CompletableFuture<User> register(RegisterRequest request) {
+        return passwordHasher.encode(request.getPassword())
+                .thenApplyAsync(passwordHash -> transactionTemplate.execute(status -> {
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setEmail(request.getEmail());
+                    user.setFullName(request.getFullName());
+                    user = userRepository.save(user);
+
+                    Auth auth = new Auth();
+                    auth.setUser(user);
+                    auth.setPasswordHash(passwordHash);
+                    authRepository.save(auth);
+                    return user;
+                }), taskExecutor);
+    }
+}
@@ -0,0 +1,79 @@
+package com.inventory.web;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.inventory.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Turns request bodies that fail to bind or validate into a 400 with a
+ * {@code {"message": ...}} body, like the controllers' own checks, and updates that
+ * lost a race on a row's version into 412 or 409.
+ *
+ * Handled here, inside the dispatcher: left to Spring Boot's error page they would
+ * be forwarded to {@code /error}, which the security chain answers with 403.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final ErrorResponse MALFORMED_BODY = new ErrorResponse("Malformed request body.");
+    private static final ErrorResponse MODIFIED_CONCURRENTLY =
+            new ErrorResponse("The resource was modified by another request; read it again and retry.");
+
+    /** Reports the first violated constraint of a {@code @Valid} body. */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> invalidBody(MethodArgumentNotValidException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getAllErrors().get(0).getDefaultMessage()));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> unreadableBody(HttpMessageNotReadableException e) {
+        if (!(e.getCause() instanceof MismatchedInputException mismatch) || mismatch.getPath().isEmpty()) {
+            return ResponseEntity.badRequest().body(MALFORMED_BODY);
+        }
+        String field = field(mismatch.getPath());
+        String message = mismatch.getTargetType() == LocalDate.class
+                ? "Invalid date format for " + field + ". Use YYYY-MM-DD."
+                : "Invalid value for " + field + ".";
+        return ResponseEntity.badRequest().body(new ErrorResponse(message));
+    }
+
+    /**
+     * Another transaction committed an update to the row between this request's read and
+     * its write. A conditional request gets 412, as if its If-Match had been checked
+     * a moment later; an unconditional one gets 409.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> modifiedConcurrently(HttpServletRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(MODIFIED_CONCURRENTLY);
+    }
+
+    /** The JSON path of the offending value, e.g. {@code items[2].quantity}. */
+    private static String field(List<JsonMappingException.Reference> path) {
+        StringBuilder field = new StringBuilder();
+        for (JsonMappingException.Reference reference : path) {
+            if (reference.getFieldName() != null) {
+                if (!field.isEmpty()) {
+                    field.append('.');
+                }
+                field.append(reference.getFieldName());
+            } else if (reference.getIndex() >= 0) {
+                field.append('[').append(reference.getIndex()).append(']');
+            }
+        }
+        return field.toString();
+    }
+}
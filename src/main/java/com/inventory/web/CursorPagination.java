@@ -0,0 +1,59 @@
+package com.inventory.web;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset (cursor-on-id) pagination for the list endpoints.
+ *
+ * Clients pass {@code limit} and {@code after}; the page body stays a plain JSON
+ * array and the cursor for the next page is returned in the {@code X-Next-Cursor}
+ * header (absent on the last page).
+ */
+public final class CursorPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private CursorPagination() {
+    }
+
+    public static long after(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    public static int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * One extra row is fetched so the last page can be detected without a count query.
+     */
+    public static Limit fetchLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    public static <E, D> ResponseEntity<List<D>> page(List<E> rows, int limit,
+                                                      Function<E, Long> idOf,
+                                                      Function<E, D> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        List<D> body = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasMore) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(idOf.apply(pageRows.get(limit - 1))));
+        }
+        return response.body(body);
+    }
+}
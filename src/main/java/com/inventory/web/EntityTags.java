@@ -0,0 +1,50 @@
+package com.inventory.web;
+
+import com.inventory.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETags for the versioned entities: the tag is the row's {@code version} column, so it
+ * changes with every committed update and costs nothing to compute.
+ *
+ * GET responses carry it (Spring answers a matching {@code If-None-Match} with 304);
+ * PUT compares it with {@code If-Match} before changing anything and answers a stale
+ * tag with 412 and the current one.
+ */
+public final class EntityTags {
+
+    private static final ErrorResponse PRECONDITION_FAILED =
+            new ErrorResponse("The resource has been modified since it was read.");
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Whether an update guarded by {@code ifMatch} may go ahead. No header means an
+     * unconditional update; weak tags never match, as If-Match uses strong comparison.
+     */
+    public static boolean matches(String ifMatch, Long version) {
+        if (ifMatch == null) {
+            return true;
+        }
+        String current = of(version);
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static ResponseEntity<Object> preconditionFailed(Long version) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(of(version))
+                .body(PRECONDITION_FAILED);
+    }
+}
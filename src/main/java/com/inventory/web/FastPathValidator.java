@@ -0,0 +1,180 @@
+package com.inventory.web;
+
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Validator for {@code @Valid} request bodies: Bean Validation, with a fast path for
+ * valid bodies of classes whose only constraints are {@code @NotNull},
+ * {@code @NotEmpty} and {@code @NotBlank} on properties.
+ *
+ * Hibernate Validator sets up a validation context and property paths on every call,
+ * which costs about as much as binding the body. For those classes the constraints are
+ * read from its metadata once and checked through the getters; a body that fails them,
+ * and any other class, is validated in full, so results and messages are unchanged.
+ */
+public class FastPathValidator implements SmartValidator {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final Validator validator;
+    private final SpringValidatorAdapter adapter;
+    /** The checks of a class, or null when it has constraints the fast path does not cover. */
+    private final ClassValue<Check[]> checks = new ClassValue<>() {
+        @Override
+        protected Check[] computeValue(Class<?> type) {
+            return checksFor(type);
+        }
+    };
+
+    public FastPathValidator(Validator validator) {
+        this.validator = validator;
+        this.adapter = new SpringValidatorAdapter(validator);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return adapter.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        Check[] targetChecks = checks.get(target.getClass());
+        if (targetChecks != null && passes(targetChecks, target)) {
+            return;
+        }
+        adapter.validate(target, errors);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (validationHints.length == 0) {
+            validate(target, errors);
+        } else {
+            adapter.validate(target, errors, validationHints);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                              Object... validationHints) {
+        adapter.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return adapter.unwrap(type);
+    }
+
+    private static boolean passes(Check[] checks, Object target) {
+        for (Check check : checks) {
+            Object value;
+            try {
+                value = (Object) check.getter.invokeExact(target);
+            } catch (Throwable e) {
+                return false;
+            }
+            if (!check.satisfied.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Check[] checksFor(Class<?> type) {
+        BeanDescriptor bean = validator.getConstraintsForClass(type);
+        if (bean.hasConstraints()) {
+            return null;
+        }
+        List<Check> result = new ArrayList<>();
+        for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                return null;
+            }
+            MethodHandle getter = getter(type, property.getPropertyName());
+            if (getter == null) {
+                return null;
+            }
+            for (ConstraintDescriptor<?> constraint : property.getConstraintDescriptors()) {
+                Predicate<Object> satisfied = predicate(constraint);
+                if (satisfied == null) {
+                    return null;
+                }
+                result.add(new Check(getter, satisfied));
+            }
+        }
+        return result.toArray(new Check[0]);
+    }
+
+    private static MethodHandle getter(Class<?> type, String property) {
+        java.beans.PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        Method read = descriptor != null ? descriptor.getReadMethod() : null;
+        if (read == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(read).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /** The same tests as Hibernate Validator's validators for these constraints. */
+    private static Predicate<Object> predicate(ConstraintDescriptor<?> constraint) {
+        if (!constraint.getGroups().equals(Set.of(Default.class))
+                || !constraint.getComposingConstraints().isEmpty()) {
+            return null;
+        }
+        Class<?> annotation = constraint.getAnnotation().annotationType();
+        if (annotation == NotNull.class) {
+            return Objects::nonNull;
+        }
+        if (annotation == NotEmpty.class) {
+            return FastPathValidator::notEmpty;
+        }
+        if (annotation == NotBlank.class) {
+            return value -> value instanceof CharSequence text && !text.toString().trim().isEmpty();
+        }
+        return null;
+    }
+
+    /** False for types {@code @NotEmpty} does not apply to, leaving them to the full validation. */
+    private static boolean notEmpty(Object value) {
+        if (value instanceof CharSequence text) {
+            return !text.isEmpty();
+        }
+        if (value instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        return value != null && value.getClass().isArray() && Array.getLength(value) > 0;
+    }
+
+    private record Check(MethodHandle getter, Predicate<Object> satisfied) {
+    }
+}
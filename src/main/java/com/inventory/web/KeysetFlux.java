@@ -0,0 +1,70 @@
+package com.inventory.web;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Bridges the blocking keyset-paged repository reads to {@link Flux} for the
+ * reactive read API.
+ *
+ * A page is read only when the subscriber has drained the previous one, so a slow
+ * client holds at most one page in memory and no connection while it catches up.
+ * Each page is read in its own short read-only transaction on a bounded scheduler
+ * sized to the reader pool ({@code inventory.reactive.read-threads}, default the
+ * number of cores); further page reads queue there instead of occupying threads.
+ */
+@Component
+public class KeysetFlux implements DisposableBean {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Scheduler scheduler;
+    private final int pageSize;
+
+    public KeysetFlux(PlatformTransactionManager transactionManager,
+                      @Value("${inventory.reactive.read-threads:0}") int readThreads,
+                      @Value("${inventory.reactive.queued-reads:10000}") int queuedReads,
+                      @Value("${inventory.reactive.page-size:500}") int pageSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        int threads = readThreads > 0 ? readThreads : Runtime.getRuntime().availableProcessors();
+        this.scheduler = Schedulers.newBoundedElastic(threads, queuedReads, "keyset-reads");
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @param page reads up to {@code limit} rows with an id greater than {@code after},
+     *             in id order, mapped to what is emitted
+     * @param id   the id of an emitted row
+     */
+    public <T> Flux<T> rows(long after, BiFunction<Long, Integer, List<T>> page, Function<T, Long> id) {
+        return Flux.<List<T>, Long>generate(() -> after, (cursor, sink) -> {
+                    List<T> rows = readOnlyTransaction.execute(status -> page.apply(cursor, pageSize));
+                    if (rows == null || rows.isEmpty()) {
+                        sink.complete();
+                        return cursor;
+                    }
+                    sink.next(rows);
+                    if (rows.size() < pageSize) {
+                        sink.complete();
+                    }
+                    return id.apply(rows.get(rows.size() - 1));
+                })
+                .subscribeOn(scheduler)
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
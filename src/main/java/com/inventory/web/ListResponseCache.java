@@ -0,0 +1,127 @@
+package com.inventory.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.service.CatalogVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET and a serialized-response cache for the catalog list endpoints
+ * (products, categories, suppliers), keyed on the table's {@link CatalogVersions} counter.
+ *
+ * A request whose {@code If-None-Match} is current is answered with 304 before any
+ * query runs. Otherwise the page is served from the JSON bytes cached for its table
+ * version, cursor and limit, so a poll costs neither a query nor serialization. After
+ * a change, the first request per page loads it on its own thread and concurrent
+ * requests for that page wait for the same load; the cache's locks are never held
+ * while it runs. Pages of earlier versions are not read again and age out under the
+ * size bound. Responses are marked {@code Cache-Control: no-cache} so browsers always
+ * revalidate. The cache is bounded by {@code inventory.list-cache.max-size} bytes and
+ * published as the {@code cache.*{cache="catalog.lists"}} meters.
+ */
+@Component
+public class ListResponseCache {
+
+    private record Key(CatalogVersions.Table table, long counter, long after, int limit) {
+    }
+
+    private record Page(byte[] body, String nextCursor) {
+    }
+
+    private static final String NO_CACHE = CacheControl.noCache().getHeaderValue();
+
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Key, Page> pages;
+
+    public ListResponseCache(CatalogVersions catalogVersions,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${inventory.list-cache.max-size:16MB}") DataSize maxSize) {
+        this.catalogVersions = catalogVersions;
+        this.objectMapper = objectMapper;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<Key, Page>weigher((key, page) -> page.body().length + 64)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages.synchronous(), "catalog.lists");
+    }
+
+    /**
+     * @param page runs the query and builds the page as {@link CursorPagination#page} does;
+     *             called only when the cached bytes are missing or out of date
+     * @return the page, or {@code null} when a 304 has been sent
+     */
+    public ResponseEntity<byte[]> respond(CatalogVersions.Table table, long after, int limit,
+                                          ServletWebRequest request, Supplier<? extends ResponseEntity<? extends List<?>>> page) {
+        CatalogVersions.Version version = catalogVersions.current(table);
+        // Set directly so a 304 carries it too
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
+
+        Page cached = page(new Key(table, version.counter(), after, limit), page);
+
+        // ETag and Cache-Control are already on the response
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (cached.nextCursor() != null) {
+            response.header(CursorPagination.NEXT_CURSOR_HEADER, cached.nextCursor());
+        }
+        return response.body(cached.body());
+    }
+
+    private Page page(Key key, Supplier<? extends ResponseEntity<? extends List<?>>> page) {
+        CompletableFuture<Page> cached = pages.getIfPresent(key);
+        if (cached == null) {
+            CompletableFuture<Page> loading = new CompletableFuture<>();
+            cached = pages.asMap().putIfAbsent(key, loading);
+            if (cached == null) {
+                cached = loading;
+                try {
+                    loading.complete(load(page));
+                } catch (RuntimeException e) {
+                    // A failed future leaves the cache, so the next request loads again
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Page load(Supplier<? extends ResponseEntity<? extends List<?>>> page) {
+        ResponseEntity<? extends List<?>> response = page.get();
+        try {
+            return new Page(objectMapper.writeValueAsBytes(response.getBody()),
+                    response.getHeaders().getFirst(CursorPagination.NEXT_CURSOR_HEADER));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
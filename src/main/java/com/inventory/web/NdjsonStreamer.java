@@ -0,0 +1,99 @@
+package com.inventory.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository {@link Stream} as newline-delimited JSON.
+ *
+ * Rows are mapped one at a time, detached from the persistence context and flushed
+ * to the client every {@link #CHUNK_SIZE} rows, so heap usage does not grow with
+ * the size of the table.
+ */
+@Component
+public class NdjsonStreamer {
+
+    public static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NdjsonStreamer(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <E, D> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<E>> rows, Function<E, D> mapper) {
+        return stream(rows, mapper, true);
+    }
+
+    /**
+     * Streams rows that are already DTOs, e.g. from a constructor-expression query.
+     */
+    public <D> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<D>> rows) {
+        return stream(rows, Function.identity(), false);
+    }
+
+    private <E, D> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<E>> rows, Function<E, D> mapper,
+                                                                boolean managed) {
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<E> stream = rows.get()) {
+                write(stream, mapper, managed, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private <E, D> void write(Stream<E> stream, Function<E, D> mapper, boolean managed,
+                              OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(out));
+        generator.setRootValueSeparator(null);
+
+        int inChunk = 0;
+        Iterator<E> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            E entity = iterator.next();
+            writer.writeValue(generator, mapper.apply(entity));
+            generator.writeRaw('\n');
+            if (managed) {
+                entityManager.detach(entity);
+            }
+
+            if (++inChunk == CHUNK_SIZE) {
+                // Drops any parents loaded for this chunk along with its rows
+                entityManager.clear();
+                generator.flush();
+                inChunk = 0;
+            }
+        }
+        generator.flush();
+    }
+}
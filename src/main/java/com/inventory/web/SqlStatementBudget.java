@@ -0,0 +1,26 @@
+package com.inventory.web;
+
+import com.inventory.config.SqlStatementCounter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The number of SQL statements a handler method is expected to issue per request.
+ * Handlers without it get {@code inventory.sql-budget.default}. A request over its
+ * budget is logged, or rejected with a 500 when {@code inventory.sql-budget.reject}
+ * is set. Budgets are set for the busier backend: on PostgreSQL a handler that writes
+ * the change log also takes its append lock, one statement more than on SQLite.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+
+    /**
+     * Statements allowed, or {@link SqlStatementCounter#UNLIMITED} for handlers whose
+     * count grows with their input.
+     */
+    int value();
+}
@@ -0,0 +1,45 @@
+package com.inventory.web;
+
+import com.inventory.config.SqlStatementCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Applies the handler's {@link SqlStatementBudget} to the statement scope opened by
+ * {@link SqlStatementMetricsFilter} for the request.
+ */
+@Component
+public class SqlStatementBudgetInterceptor implements HandlerInterceptor {
+
+    private final int defaultBudget;
+    private final boolean reject;
+
+    public SqlStatementBudgetInterceptor(@Value("${inventory.sql-budget.default:20}") int defaultBudget,
+                                         @Value("${inventory.sql-budget.reject:false}") boolean reject) {
+        this.defaultBudget = defaultBudget;
+        this.reject = reject;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.Scope scope = SqlStatementCounter.current();
+        if (scope == null) {
+            return true;
+        }
+        int budget = defaultBudget;
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlStatementBudget annotation = handlerMethod.getMethodAnnotation(SqlStatementBudget.class);
+            if (annotation != null) {
+                budget = annotation.value();
+            }
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        scope.limit(request.getMethod() + " " + pattern, budget, reject);
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventory.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.config.SqlStatementBudgetExceededException;
+import com.inventory.config.SqlStatementCounter;
+import com.inventory.dto.ErrorResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many SQL statements each API request issued, as the
+ * {@code http.server.requests.sql.statements} summary tagged like
+ * {@code http.server.requests} (method and URI template). Work done after an
+ * asynchronous hand-off, such as a streamed NDJSON body, is not included.
+ *
+ * Requests over their {@link SqlStatementBudget} are logged with the number of
+ * transactions and the largest one; a request rejected for going over is answered
+ * with a 500.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    /** Summaries by method and URI template, so the meter is not looked up on every request. */
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Scope scope = SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            if (!(cause instanceof SqlStatementBudgetExceededException rejected) || response.isCommitted()) {
+                throw e;
+            }
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(rejected.getMessage()));
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summary(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN")
+                    .record(scope.getStatements());
+            if (scope.isOverBudget()) {
+                log.warn("{} issued {} SQL statements, over its budget of {} ({} transaction(s), largest {})",
+                        scope.getLabel(), scope.getStatements(), scope.getBudget(), scope.getTransactions(),
+                        scope.getLargestTransaction());
+            }
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary
+                .builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100.0)
+                .register(meterRegistry));
+    }
+}
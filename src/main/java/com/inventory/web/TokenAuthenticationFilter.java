@@ -0,0 +1,62 @@
+package com.inventory.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.ErrorResponse;
+import com.inventory.service.AuthTokens;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>} with a token
+ * from {@code POST /api/login}, with the {@link AuthTokens.Principal} as principal.
+ * A token that does not verify is answered with 401; requests without one pass through
+ * unauthenticated. Added to the security chain by SecurityConfig, not as a servlet filter.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final ErrorResponse INVALID_TOKEN = new ErrorResponse("Invalid or expired token.");
+
+    private final AuthTokens authTokens;
+    private final ObjectMapper objectMapper;
+
+    public TokenAuthenticationFilter(AuthTokens authTokens, ObjectMapper objectMapper) {
+        this.authTokens = authTokens;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AuthTokens.Principal> principal = authTokens.verify(authorization.substring(BEARER.length()).trim());
+        if (principal.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), INVALID_TOKEN);
+            return;
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal.get(), null, List.of()));
+        SecurityContextHolder.setContext(context);
+        chain.doFilter(request, response);
+    }
+}
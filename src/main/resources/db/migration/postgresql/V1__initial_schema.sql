@@ -0,0 +1,123 @@
+-- Initial schema for PostgreSQL, matching db/migration/sqlite/V1__initial_schema.sql.
+--
+-- Ids come from one sequence per table, advanced in steps of 50. Hibernate reserves a
+-- whole step per nextval() with the pooled-lo optimizer (META-INF/orm-sequence-ids.xml),
+-- so inserts can be batched without a round trip per row. The column default draws from
+-- the same sequence, which keeps plain SQL inserts (bulk import) from colliding with ids
+-- Hibernate has already handed out.
+
+CREATE SEQUENCE category_seq INCREMENT BY 50;
+CREATE SEQUENCE client_seq INCREMENT BY 50;
+CREATE SEQUENCE supplier_seq INCREMENT BY 50;
+CREATE SEQUENCE user_seq INCREMENT BY 50;
+CREATE SEQUENCE product_seq INCREMENT BY 50;
+CREATE SEQUENCE sale_seq INCREMENT BY 50;
+CREATE SEQUENCE stock_seq INCREMENT BY 50;
+
+CREATE TABLE category (
+	id BIGINT NOT NULL DEFAULT nextval('category_seq'),
+	name VARCHAR(255) NOT NULL,
+	description TEXT,
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE client (
+	id BIGINT NOT NULL DEFAULT nextval('client_seq'),
+	name VARCHAR(255) NOT NULL,
+	contact_phone VARCHAR(20),
+	contact_email VARCHAR(120),
+	address TEXT,
+	is_credit_client BOOLEAN,
+	credit_limit NUMERIC(12, 2),
+	current_month_status VARCHAR(50),
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE supplier (
+	id BIGINT NOT NULL DEFAULT nextval('supplier_seq'),
+	name VARCHAR(255) NOT NULL,
+	contact_person VARCHAR(255),
+	phone VARCHAR(20),
+	email VARCHAR(120),
+	address TEXT,
+	additional_fees NUMERIC(10, 2),
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE "user" (
+	id BIGINT NOT NULL DEFAULT nextval('user_seq'),
+	username VARCHAR(64) NOT NULL,
+	full_name VARCHAR(100),
+	email VARCHAR(120) NOT NULL,
+	created_at TIMESTAMP,
+	PRIMARY KEY (id),
+	UNIQUE (email),
+	UNIQUE (username)
+);
+
+CREATE TABLE auth (
+	user_id BIGINT NOT NULL,
+	password_hash VARCHAR(128) NOT NULL,
+	permissions_level INTEGER NOT NULL,
+	PRIMARY KEY (user_id),
+	FOREIGN KEY (user_id) REFERENCES "user" (id)
+);
+
+CREATE TABLE product (
+	id BIGINT NOT NULL DEFAULT nextval('product_seq'),
+	name VARCHAR(255) NOT NULL,
+	brand VARCHAR(255),
+	description TEXT,
+	warranty_months INTEGER,
+	category_id BIGINT,
+	PRIMARY KEY (id),
+	FOREIGN KEY (category_id) REFERENCES category (id)
+);
+
+CREATE TABLE sale (
+	id BIGINT NOT NULL DEFAULT nextval('sale_seq'),
+	client_id BIGINT NOT NULL,
+	user_id BIGINT NOT NULL,
+	sale_date TIMESTAMP,
+	total_amount NUMERIC(12, 2) NOT NULL,
+	discount_applied NUMERIC(4, 2),
+	payment_method VARCHAR(50) NOT NULL,
+	PRIMARY KEY (id),
+	FOREIGN KEY (client_id) REFERENCES client (id),
+	FOREIGN KEY (user_id) REFERENCES "user" (id)
+);
+
+CREATE TABLE stock (
+	id BIGINT NOT NULL DEFAULT nextval('stock_seq'),
+	product_id BIGINT NOT NULL,
+	supplier_id BIGINT NOT NULL,
+	location VARCHAR(255),
+	quantity INTEGER NOT NULL,
+	cost_price NUMERIC(10, 2),
+	selling_price NUMERIC(10, 2) NOT NULL,
+	deposited_by_user_id BIGINT,
+	deposited_at TIMESTAMP,
+	expiration_date DATE,
+	PRIMARY KEY (id),
+	FOREIGN KEY (deposited_by_user_id) REFERENCES "user" (id),
+	FOREIGN KEY (product_id) REFERENCES product (id),
+	FOREIGN KEY (supplier_id) REFERENCES supplier (id)
+);
+
+CREATE TABLE sale_item (
+	sale_id BIGINT NOT NULL,
+	stock_id BIGINT NOT NULL,
+	quantity_sold INTEGER NOT NULL,
+	unit_price_at_sale NUMERIC(10, 2) NOT NULL,
+	CONSTRAINT pk_sale_item PRIMARY KEY (sale_id, stock_id),
+	FOREIGN KEY (sale_id) REFERENCES sale (id),
+	FOREIGN KEY (stock_id) REFERENCES stock (id)
+);
+
+ALTER SEQUENCE category_seq OWNED BY category.id;
+ALTER SEQUENCE client_seq OWNED BY client.id;
+ALTER SEQUENCE supplier_seq OWNED BY supplier.id;
+ALTER SEQUENCE user_seq OWNED BY "user".id;
+ALTER SEQUENCE product_seq OWNED BY product.id;
+ALTER SEQUENCE sale_seq OWNED BY sale.id;
+ALTER SEQUENCE stock_seq OWNED BY stock.id;
@@ -0,0 +1,22 @@
+-- Indexes for the lookup paths used by the repositories. Without them every
+-- per-product, per-supplier, per-category and per-client query scans the table.
+
+-- Stock by product (FEFO allocator loads batches in expiration order), by supplier
+-- and by depositor
+CREATE INDEX ix_stock_product_expiration ON stock (product_id, expiration_date);
+CREATE INDEX ix_stock_supplier_id ON stock (supplier_id);
+CREATE INDEX ix_stock_deposited_by_user_id ON stock (deposited_by_user_id);
+
+CREATE INDEX ix_product_category_id ON product (category_id);
+
+CREATE INDEX ix_category_name ON category (name);
+
+-- Sales per client and per salesperson; (sale_date, client_id) serves date-range
+-- reports without touching the table for the client filter
+CREATE INDEX ix_sale_client_id ON sale (client_id);
+CREATE INDEX ix_sale_user_id ON sale (user_id);
+CREATE INDEX ix_sale_date_client ON sale (sale_date, client_id);
+
+-- The primary key leads with sale_id; stock_id needs its own index for lookups and
+-- for the foreign key check when a stock row is deleted
+CREATE INDEX ix_sale_item_stock_id ON sale_item (stock_id);
@@ -0,0 +1,51 @@
+-- Pre-aggregated rollups for the dashboard reports, matching
+-- db/migration/sqlite/V3__rollup_tables.sql. They are updated in the same transaction
+-- as every stock change and sale (InventoryRollups).
+
+CREATE TABLE product_stock_rollup (
+	product_id BIGINT NOT NULL,
+	quantity BIGINT NOT NULL,
+	PRIMARY KEY (product_id)
+);
+
+CREATE TABLE product_daily_sales (
+	product_id BIGINT NOT NULL,
+	sale_day VARCHAR(10) NOT NULL,
+	units_sold BIGINT NOT NULL,
+	revenue NUMERIC(14, 2) NOT NULL,
+	cost NUMERIC(14, 2),
+	margin NUMERIC(14, 2),
+	PRIMARY KEY (product_id, sale_day)
+);
+CREATE INDEX ix_product_daily_sales_day ON product_daily_sales (sale_day);
+
+CREATE TABLE client_daily_revenue (
+	client_id BIGINT NOT NULL,
+	sale_day VARCHAR(10) NOT NULL,
+	sales BIGINT NOT NULL,
+	revenue NUMERIC(14, 2) NOT NULL,
+	PRIMARY KEY (client_id, sale_day)
+);
+CREATE INDEX ix_client_daily_revenue_day ON client_daily_revenue (sale_day);
+
+INSERT INTO product_stock_rollup (product_id, quantity)
+SELECT product_id, sum(quantity) FROM stock GROUP BY product_id;
+
+INSERT INTO product_daily_sales (product_id, sale_day, units_sold, revenue, cost, margin)
+SELECT st.product_id,
+	cast(cast(s.sale_date AS date) AS varchar(10)),
+	sum(i.quantity_sold),
+	sum(i.quantity_sold * i.unit_price_at_sale),
+	sum(i.quantity_sold * st.cost_price),
+	sum(i.quantity_sold * (i.unit_price_at_sale - st.cost_price))
+FROM sale_item i
+	JOIN sale s ON s.id = i.sale_id
+	JOIN stock st ON st.id = i.stock_id
+WHERE s.sale_date IS NOT NULL
+GROUP BY 1, 2;
+
+INSERT INTO client_daily_revenue (client_id, sale_day, sales, revenue)
+SELECT client_id, cast(cast(sale_date AS date) AS varchar(10)), count(*), sum(total_amount)
+FROM sale
+WHERE sale_date IS NOT NULL
+GROUP BY 1, 2;
@@ -0,0 +1,7 @@
+-- Row versions for optimistic locking. Every update of these rows increments the
+-- version; a JPA update carries the version it read and fails when the row has changed
+-- since. Clients see the version as the resource's ETag and send it back in If-Match.
+ALTER TABLE stock ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE product ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE supplier ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE category ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
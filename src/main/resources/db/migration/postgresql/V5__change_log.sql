@@ -0,0 +1,15 @@
+-- Change log behind GET /api/changes, matching db/migration/sqlite/V5__change_log.sql.
+-- The sequence number is an identity column rather than a pooled sequence like the
+-- other tables: numbers must be handed out in the order rows are appended, and
+-- appends take a transaction-scoped advisory lock (application-postgres.properties)
+-- so they also commit in that order.
+CREATE TABLE change_log (
+	seq BIGINT GENERATED BY DEFAULT AS IDENTITY,
+	entity VARCHAR(20) NOT NULL,
+	entity_id BIGINT NOT NULL,
+	op VARCHAR(10) NOT NULL,
+	payload TEXT,
+	changed_at TIMESTAMP NOT NULL,
+	PRIMARY KEY (seq)
+);
+CREATE INDEX ix_change_log_entity ON change_log (entity, entity_id, seq);
@@ -0,0 +1,10 @@
+-- Transactional outbox, matching db/migration/sqlite/V6__outbox.sql. An identity column
+-- like change_log rather than a pooled sequence: events are inserted with plain JDBC and
+-- dispatched in id order.
+CREATE TABLE outbox_event (
+	id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+	event_type VARCHAR(40) NOT NULL,
+	payload TEXT NOT NULL,
+	created_at TIMESTAMP NOT NULL,
+	PRIMARY KEY (id)
+);
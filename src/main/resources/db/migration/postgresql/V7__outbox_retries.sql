@@ -0,0 +1,7 @@
+-- Outbox retries, matching db/migration/sqlite/V7__outbox_retries.sql.
+ALTER TABLE outbox_event ADD COLUMN delivered_to VARCHAR(200);
+ALTER TABLE outbox_event ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox_event ADD COLUMN next_attempt_at TIMESTAMP;
+ALTER TABLE outbox_event ADD COLUMN dead BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX ix_outbox_event_dead_id ON outbox_event (dead, id);
@@ -0,0 +1,102 @@
+-- Initial schema, identical to the tables created by the Flask app's first Alembic revision
+-- (073142d8a440). Databases created by that app are baselined at this version.
+
+CREATE TABLE category (
+	id INTEGER NOT NULL,
+	name VARCHAR(255) NOT NULL,
+	description TEXT,
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE client (
+	id INTEGER NOT NULL,
+	name VARCHAR(255) NOT NULL,
+	contact_phone VARCHAR(20),
+	contact_email VARCHAR(120),
+	address TEXT,
+	is_credit_client BOOLEAN,
+	credit_limit NUMERIC(12, 2),
+	current_month_status VARCHAR(50),
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE supplier (
+	id INTEGER NOT NULL,
+	name VARCHAR(255) NOT NULL,
+	contact_person VARCHAR(255),
+	phone VARCHAR(20),
+	email VARCHAR(120),
+	address TEXT,
+	additional_fees NUMERIC(10, 2),
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE user (
+	id INTEGER NOT NULL,
+	username VARCHAR(64) NOT NULL,
+	full_name VARCHAR(100),
+	email VARCHAR(120) NOT NULL,
+	created_at DATETIME,
+	PRIMARY KEY (id),
+	UNIQUE (email),
+	UNIQUE (username)
+);
+
+CREATE TABLE auth (
+	user_id INTEGER NOT NULL,
+	password_hash VARCHAR(128) NOT NULL,
+	permissions_level INTEGER NOT NULL,
+	PRIMARY KEY (user_id),
+	FOREIGN KEY(user_id) REFERENCES user (id)
+);
+
+CREATE TABLE product (
+	id INTEGER NOT NULL,
+	name VARCHAR(255) NOT NULL,
+	brand VARCHAR(255),
+	description TEXT,
+	warranty_months INTEGER,
+	category_id INTEGER,
+	PRIMARY KEY (id),
+	FOREIGN KEY(category_id) REFERENCES category (id)
+);
+
+CREATE TABLE sale (
+	id INTEGER NOT NULL,
+	client_id INTEGER NOT NULL,
+	user_id INTEGER NOT NULL,
+	sale_date DATETIME,
+	total_amount NUMERIC(12, 2) NOT NULL,
+	discount_applied NUMERIC(4, 2),
+	payment_method VARCHAR(50) NOT NULL,
+	PRIMARY KEY (id),
+	FOREIGN KEY(client_id) REFERENCES client (id),
+	FOREIGN KEY(user_id) REFERENCES user (id)
+);
+
+CREATE TABLE stock (
+	id INTEGER NOT NULL,
+	product_id INTEGER NOT NULL,
+	supplier_id INTEGER NOT NULL,
+	location VARCHAR(255),
+	quantity INTEGER NOT NULL,
+	cost_price NUMERIC(10, 2),
+	selling_price NUMERIC(10, 2) NOT NULL,
+	deposited_by_user_id INTEGER,
+	deposited_at DATETIME,
+	expiration_date DATE,
+	PRIMARY KEY (id),
+	FOREIGN KEY(deposited_by_user_id) REFERENCES user (id),
+	FOREIGN KEY(product_id) REFERENCES product (id),
+	FOREIGN KEY(supplier_id) REFERENCES supplier (id)
+);
+
+CREATE TABLE sale_item (
+	sale_id INTEGER NOT NULL,
+	stock_id INTEGER NOT NULL,
+	quantity_sold INTEGER NOT NULL,
+	unit_price_at_sale NUMERIC(10, 2) NOT NULL,
+	CONSTRAINT pk_sale_item PRIMARY KEY (sale_id, stock_id),
+	FOREIGN KEY(sale_id) REFERENCES sale (id),
+	FOREIGN KEY(stock_id) REFERENCES stock (id)
+);
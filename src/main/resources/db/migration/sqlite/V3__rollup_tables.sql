@@ -0,0 +1,61 @@
+-- Pre-aggregated rollups for the dashboard reports. They are updated in the same
+-- transaction as every stock change and sale (InventoryRollups), so reading them
+-- costs the size of the result rather than of the history. Rebuilt from the base
+-- tables below and by --inventory.rollups.command=rebuild.
+
+-- On-hand quantity per product
+CREATE TABLE product_stock_rollup (
+	product_id INTEGER NOT NULL,
+	quantity INTEGER NOT NULL,
+	PRIMARY KEY (product_id)
+);
+
+-- Units sold per product and day (yyyy-MM-dd, local time); cost and margin only
+-- cover units taken from stock with a cost price, and are null when none was
+CREATE TABLE product_daily_sales (
+	product_id INTEGER NOT NULL,
+	sale_day VARCHAR(10) NOT NULL,
+	units_sold INTEGER NOT NULL,
+	revenue NUMERIC(14, 2) NOT NULL,
+	cost NUMERIC(14, 2),
+	margin NUMERIC(14, 2),
+	PRIMARY KEY (product_id, sale_day)
+);
+CREATE INDEX ix_product_daily_sales_day ON product_daily_sales (sale_day);
+
+-- Number of sales and their total amount per client and day
+CREATE TABLE client_daily_revenue (
+	client_id INTEGER NOT NULL,
+	sale_day VARCHAR(10) NOT NULL,
+	sales INTEGER NOT NULL,
+	revenue NUMERIC(14, 2) NOT NULL,
+	PRIMARY KEY (client_id, sale_day)
+);
+CREATE INDEX ix_client_daily_revenue_day ON client_daily_revenue (sale_day);
+
+-- sale_date holds epoch milliseconds when written by this application and ISO text
+-- when written by the Flask app
+INSERT INTO product_stock_rollup (product_id, quantity)
+SELECT product_id, sum(quantity) FROM stock GROUP BY product_id;
+
+INSERT INTO product_daily_sales (product_id, sale_day, units_sold, revenue, cost, margin)
+SELECT st.product_id,
+	CASE typeof(s.sale_date) WHEN 'integer' THEN date(s.sale_date / 1000, 'unixepoch', 'localtime') ELSE date(s.sale_date) END,
+	sum(i.quantity_sold),
+	sum(i.quantity_sold * i.unit_price_at_sale),
+	sum(i.quantity_sold * st.cost_price),
+	sum(i.quantity_sold * (i.unit_price_at_sale - st.cost_price))
+FROM sale_item i
+	JOIN sale s ON s.id = i.sale_id
+	JOIN stock st ON st.id = i.stock_id
+WHERE s.sale_date IS NOT NULL
+GROUP BY 1, 2;
+
+INSERT INTO client_daily_revenue (client_id, sale_day, sales, revenue)
+SELECT client_id,
+	CASE typeof(sale_date) WHEN 'integer' THEN date(sale_date / 1000, 'unixepoch', 'localtime') ELSE date(sale_date) END,
+	count(*),
+	sum(total_amount)
+FROM sale
+WHERE sale_date IS NOT NULL
+GROUP BY 1, 2;
@@ -0,0 +1,13 @@
+-- Change log behind GET /api/changes: one row per write to stock, product, supplier or
+-- category, numbered in commit order. AUTOINCREMENT keeps sequence numbers from being
+-- reused after compaction deletes rows. Compaction removes rows superseded by a later
+-- row for the same entity, found through ix_change_log_entity.
+CREATE TABLE change_log (
+	seq INTEGER PRIMARY KEY AUTOINCREMENT,
+	entity VARCHAR(20) NOT NULL,
+	entity_id INTEGER NOT NULL,
+	op VARCHAR(10) NOT NULL,
+	payload TEXT,
+	changed_at DATETIME NOT NULL
+);
+CREATE INDEX ix_change_log_entity ON change_log (entity, entity_id, seq);
@@ -0,0 +1,9 @@
+-- Transactional outbox: domain events (DomainEvent) written in the transaction that makes
+-- the change, and deleted once the dispatcher has handed them to every subscriber, so the
+-- table only holds what has not been delivered yet.
+CREATE TABLE outbox_event (
+	id INTEGER PRIMARY KEY AUTOINCREMENT,
+	event_type VARCHAR(40) NOT NULL,
+	payload TEXT NOT NULL,
+	created_at DATETIME NOT NULL
+);
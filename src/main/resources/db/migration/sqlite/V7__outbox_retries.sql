@@ -0,0 +1,11 @@
+-- Outbox retries. A subscriber that fails an event gets it again after a backoff, up to
+-- inventory.outbox.max-attempts; delivered_to lists the subscribers that already handled it
+-- (comma-separated) so only the others are retried. An event out of attempts, or one that
+-- cannot be read back, is kept with dead set instead of being deleted.
+ALTER TABLE outbox_event ADD COLUMN delivered_to VARCHAR(200);
+ALTER TABLE outbox_event ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox_event ADD COLUMN next_attempt_at DATETIME;
+ALTER TABLE outbox_event ADD COLUMN dead BOOLEAN NOT NULL DEFAULT 0;
+
+-- The dispatcher reads live events in id order
+CREATE INDEX ix_outbox_event_dead_id ON outbox_event (dead, id);
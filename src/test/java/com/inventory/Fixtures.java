@@ -0,0 +1,79 @@
+package com.inventory;
+
+import com.inventory.model.Category;
+import com.inventory.model.Client;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ClientRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockRepository;
+import com.inventory.repository.SupplierRepository;
+import com.inventory.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Saves rows for tests, with unique names so tests sharing a database do not collide.
+ */
+@RequiredArgsConstructor
+public class Fixtures {
+
+    private final CategoryRepository categoryRepository;
+    private final ClientRepository clientRepository;
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final UserRepository userRepository;
+    private final StockRepository stockRepository;
+
+    public Category category() {
+        Category category = new Category();
+        category.setName("Category " + unique());
+        return categoryRepository.save(category);
+    }
+
+    public Product product(Category category) {
+        Product product = new Product();
+        product.setName("Product " + unique());
+        product.setCategoryId(category.getId());
+        return productRepository.save(product);
+    }
+
+    public Supplier supplier() {
+        Supplier supplier = new Supplier();
+        supplier.setName("Supplier " + unique());
+        return supplierRepository.save(supplier);
+    }
+
+    public User user() {
+        String name = unique();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        return userRepository.save(user);
+    }
+
+    public Client client() {
+        Client client = new Client();
+        client.setName("Client " + unique());
+        return clientRepository.save(client);
+    }
+
+    public Stock stock(Product product, Supplier supplier, User depositor, int quantity) {
+        Stock stock = new Stock();
+        stock.setProductId(product.getId());
+        stock.setSupplierId(supplier.getId());
+        stock.setDepositedByUserId(depositor.getId());
+        stock.setQuantity(quantity);
+        stock.setSellingPrice(BigDecimal.ONE);
+        return stockRepository.save(stock);
+    }
+
+    private static String unique() {
+        return UUID.randomUUID().toString();
+    }
+}
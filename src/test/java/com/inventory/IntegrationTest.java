@@ -0,0 +1,59 @@
+package com.inventory;
+
+import com.inventory.service.RecordedEvents;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base for tests against the whole application, on the database picked by
+ * {@link TestBackend}. The database and search index are shared by every test class
+ * (they share one context), so tests create the rows they need rather than assume
+ * empty tables.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({Fixtures.class, RecordedEvents.class})
+@ActiveProfiles(resolver = TestBackend.ProfileResolver.class)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.inventory.RecordedStatements",
+        "inventory.sql-budget.reject=true",
+        "inventory.outbox.max-attempts=3",
+        "inventory.outbox.retry-backoff-ms=100"
+})
+public abstract class IntegrationTest {
+
+    private static final Path DATA_DIR = createDataDir();
+
+    @BeforeAll
+    static void backendAvailable() {
+        Assumptions.assumeTrue(TestBackend.current().isAvailable(),
+                () -> TestBackend.current() + " is not available");
+    }
+
+    @DynamicPropertySource
+    static void dataDir(DynamicPropertyRegistry registry) {
+        TestBackend.current().register(registry, DATA_DIR);
+        registry.add("inventory.search.index-dir", () -> DATA_DIR.resolve("search-index").toString());
+    }
+
+    private static Path createDataDir() {
+        try {
+            return Files.createTempDirectory("inventory-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
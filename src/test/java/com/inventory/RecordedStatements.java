@@ -0,0 +1,82 @@
+package com.inventory;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The SQL Hibernate prepares on the calling thread, for tests that look at the
+ * statements themselves. It is the statement inspector of the {@link IntegrationTest}
+ * context; Hibernate instantiates it by name, hence the static recording.
+ */
+public class RecordedStatements implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+    /** Statements of other threads, while {@link #elsewhere} runs. */
+    private static volatile Recording elsewhere;
+
+    /**
+     * Runs {@code work} and returns the statements it prepared, in order.
+     */
+    public static List<String> during(Work work) throws Exception {
+        List<String> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            work.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Runs {@code work} and returns the statements other threads prepared meanwhile, such
+     * as those of a streamed response or an async handler's continuation. The outbox
+     * dispatcher and the scheduler work in the background and are left out.
+     */
+    public static List<String> elsewhere(Work work) throws Exception {
+        Recording recording = new Recording(Thread.currentThread());
+        elsewhere = recording;
+        try {
+            work.run();
+        } finally {
+            elsewhere = null;
+        }
+        return List.copyOf(recording.statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        Recording recording = elsewhere;
+        if (recording != null) {
+            recording.add(sql);
+        }
+        return sql;
+    }
+
+    private record Recording(Thread caller, List<String> statements) {
+
+        Recording(Thread caller) {
+            this(caller, Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        void add(String sql) {
+            Thread thread = Thread.currentThread();
+            String name = thread.getName();
+            if (thread != caller && !name.equals("outbox-dispatch") && !name.startsWith("scheduling-")) {
+                statements.add(sql);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory;
+
+import com.inventory.model.Category;
+import com.inventory.repository.CategoryRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The schema the migrations build for the current {@link TestBackend}. The context
+ * starting at all means the entity mapping matched it where the profile validates.
+ */
+class SchemaTest extends IntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyMigrationIsApplied() {
+        Assertions.assertEquals(0, flyway.info().pending().length, "pending migrations");
+        List<String> failed = Arrays.stream(flyway.info().applied())
+                .filter(migration -> !migration.getState().isApplied() || migration.getState().isFailed())
+                .map(MigrationInfo::getScript)
+                .toList();
+        Assertions.assertEquals(List.of(), failed);
+    }
+
+    /**
+     * Hibernate hands out ids from blocks it reserved (on PostgreSQL), while plain
+     * inserts such as the bulk importer's take theirs from the column default.
+     */
+    @Test
+    void idsFromTheColumnDefaultNeverRepeatHibernateIds() {
+        Category first = fixtures.category();
+        Long inserted = jdbcTemplate.queryForObject("insert into category (name) values (?) returning id",
+                Long.class, "Category " + UUID.randomUUID());
+        Category second = fixtures.category();
+
+        Set<Long> ids = new HashSet<>(List.of(first.getId(), inserted, second.getId()));
+        Assertions.assertEquals(3, ids.size(), () -> "ids repeated: " + ids);
+        Assertions.assertEquals(3, categoryRepository.findAllById(ids).size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory;
+
+import com.inventory.config.SqlStatementCounter;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Pins the number of SQL statements a piece of work executes, counted by
+ * {@link SqlStatementCounter} on the calling thread.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Runs {@code work} and fails unless it executed exactly {@code expected} statements,
+     * e.g. {@code assertQueryCount(1, () -> mockMvc.perform(get("/api/stocks")))}.
+     */
+    public static <T> T assertQueryCount(int expected, Callable<T> work) throws Exception {
+        T result;
+        SqlStatementCounter.Scope scope = SqlStatementCounter.start();
+        try {
+            result = work.call();
+        } finally {
+            scope.close();
+        }
+        if (scope.getStatements() != expected) {
+            throw new AssertionError("Expected " + expected + " SQL statements but " + scope.getStatements()
+                    + " were executed in " + scope.getTransactions() + " transaction(s)");
+        }
+        return result;
+    }
+}
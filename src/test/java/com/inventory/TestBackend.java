@@ -0,0 +1,99 @@
+package com.inventory;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Path;
+
+/**
+ * The database an {@link IntegrationTest} runs against, picked by the
+ * {@code inventory.test.backend} system property: {@code sqlite} (the default) or
+ * {@code postgres}. The build runs the suite once for each.
+ *
+ * PostgreSQL comes from a Testcontainers container, or from the server named by
+ * {@code inventory.test.postgres-url} (with {@code inventory.test.postgres-user} and
+ * {@code inventory.test.postgres-password}) where Docker is not available. Without
+ * either, the PostgreSQL run is skipped.
+ */
+public enum TestBackend {
+
+    SQLITE("sqlite") {
+        @Override
+        boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        void register(DynamicPropertyRegistry registry, Path dataDir) {
+            registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dataDir.resolve("inventory.db"));
+        }
+    },
+
+    POSTGRES("postgres") {
+        @Override
+        boolean isAvailable() {
+            return System.getProperty("inventory.test.postgres-url") != null
+                    || DockerClientFactory.instance().isDockerAvailable();
+        }
+
+        @Override
+        void register(DynamicPropertyRegistry registry, Path dataDir) {
+            String url = System.getProperty("inventory.test.postgres-url");
+            if (url != null) {
+                registry.add("spring.datasource.url", () -> url);
+                registry.add("spring.datasource.username",
+                        () -> System.getProperty("inventory.test.postgres-user", "inventory"));
+                registry.add("spring.datasource.password",
+                        () -> System.getProperty("inventory.test.postgres-password", "inventory"));
+            } else {
+                PostgreSQLContainer<?> container = Container.POSTGRES;
+                registry.add("spring.datasource.url", container::getJdbcUrl);
+                registry.add("spring.datasource.username", container::getUsername);
+                registry.add("spring.datasource.password", container::getPassword);
+            }
+        }
+    };
+
+    private final String profile;
+
+    TestBackend(String profile) {
+        this.profile = profile;
+    }
+
+    public static TestBackend current() {
+        return valueOf(System.getProperty("inventory.test.backend", "sqlite").toUpperCase());
+    }
+
+    abstract boolean isAvailable();
+
+    abstract void register(DynamicPropertyRegistry registry, Path dataDir);
+
+    /**
+     * Activates the profile of the current backend.
+     */
+    public static class ProfileResolver implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return new String[]{current().profile};
+        }
+    }
+
+    /**
+     * Started on first use and shared by every test class; Testcontainers removes it
+     * when the test JVM exits.
+     */
+    private static final class Container {
+
+        static final PostgreSQLContainer<?> POSTGRES = start();
+
+        private static PostgreSQLContainer<?> start() {
+            PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("inventory");
+            container.start();
+            return container;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.inventory.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.model.Category;
+import com.inventory.model.ChangeLogEntry;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+import com.inventory.repository.ChangeLogRepository;
+import com.inventory.service.ChangeLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Change log payloads must match what a terminal would read from the API after the
+ * write, including the names joined in from other tables.
+ */
+class ChangeLogPayloadTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private ChangeLog changeLog;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void stockWritesLogTheJoinedNames() throws Exception {
+        Category category = fixtures.category();
+        Product product = fixtures.product(category);
+        Product other = fixtures.product(category);
+        Supplier supplier = fixtures.supplier();
+        User user = fixtures.user();
+
+        long head = changeLog.head();
+        String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/stocks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"product_id\":" + product.getId() + ",\"supplier_id\":" + supplier.getId()
+                                + ",\"quantity\":5,\"selling_price\":2.5,\"deposited_by_user_id\":" + user.getId() + "}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long stockId = objectMapper.readTree(body).get("id").asLong();
+        JsonNode created = latest(head, ChangeLogEntry.EntityType.STOCK).get(stockId);
+        Assertions.assertEquals(product.getName(), created.get("productName").asText());
+        Assertions.assertEquals(supplier.getName(), created.get("supplierName").asText());
+        Assertions.assertEquals(user.getUsername(), created.get("depositorUsername").asText());
+
+        head = changeLog.head();
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/stocks/" + stockId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"product_id\":" + other.getId() + "}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Assertions.assertEquals(other.getName(),
+                latest(head, ChangeLogEntry.EntityType.STOCK).get(stockId).get("productName").asText());
+    }
+
+    @Test
+    void renamesLogTheRowsThatCarryTheName() throws Exception {
+        Category category = fixtures.category();
+        Product product = fixtures.product(category);
+        Supplier supplier = fixtures.supplier();
+        Stock stock = fixtures.stock(product, supplier, fixtures.user(), 3);
+
+        long head = changeLog.head();
+        rename("/api/products/" + product.getId(), "Renamed product");
+        Assertions.assertEquals("Renamed product",
+                latest(head, ChangeLogEntry.EntityType.STOCK).get(stock.getId()).get("productName").asText());
+
+        head = changeLog.head();
+        rename("/api/suppliers/" + supplier.getId(), "Renamed supplier");
+        Assertions.assertEquals("Renamed supplier",
+                latest(head, ChangeLogEntry.EntityType.STOCK).get(stock.getId()).get("supplierName").asText());
+
+        head = changeLog.head();
+        rename("/api/categories/" + category.getId(), "Renamed category");
+        Assertions.assertEquals("Renamed category",
+                latest(head, ChangeLogEntry.EntityType.PRODUCT).get(product.getId()).get("categoryName").asText());
+    }
+
+    private void rename(String uri, String name) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put(uri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    /**
+     * @return the latest payload per row of {@code entity} logged after {@code since}
+     */
+    private Map<Long, JsonNode> latest(long since, ChangeLogEntry.EntityType entity) throws Exception {
+        Map<Long, JsonNode> payloads = new HashMap<>();
+        for (ChangeLogEntry entry : changeLogRepository.findAll(Sort.by("seq"))) {
+            if (entry.getSeq() > since && entry.getEntity() == entity && entry.getPayload() != null) {
+                payloads.put(entry.getEntityId(), objectMapper.readTree(entry.getPayload()));
+            }
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,64 @@
+package com.inventory.controller;
+
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.model.Client;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * The bodies of rejected requests: a {@code message}, plus the offending row's id
+ * where there is one.
+ */
+class ErrorResponseTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private Fixtures fixtures;
+
+    @Test
+    void sales() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        User user = fixtures.user();
+        Stock stock = fixtures.stock(product, fixtures.supplier(), user, 1);
+        Client client = fixtures.client();
+
+        sale(0, user.getId(), "{\"stock_id\":" + stock.getId() + ",\"quantity\":1}")
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().json("{\"message\":\"Client with ID 0 not found.\"}", true));
+        sale(client.getId(), user.getId(), "{\"stock_id\":" + stock.getId() + ",\"quantity\":2}")
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.content().json("{\"message\":\"Insufficient stock for stock item "
+                        + stock.getId() + " (requested 2).\",\"stock_id\":" + stock.getId() + "}", true));
+        sale(client.getId(), user.getId(), "{\"product_id\":" + product.getId() + ",\"quantity\":2}")
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.content().json("{\"message\":\"Insufficient stock for product "
+                        + product.getId() + " (requested 2).\",\"product_id\":" + product.getId() + "}", true));
+    }
+
+    @Test
+    void reportsAndSearch() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reports/valuation").param("by", "color"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").isString());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/search"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().json("{\"message\":\"q is required\"}", true));
+    }
+
+    private ResultActions sale(long clientId, long userId, String item) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/sales")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"client_id\":" + clientId + ",\"user_id\":" + userId
+                        + ",\"payment_method\":\"cash\",\"items\":[" + item + "]}"));
+    }
+}
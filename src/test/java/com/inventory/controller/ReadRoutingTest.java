@@ -0,0 +1,77 @@
+package com.inventory.controller;
+
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read handlers use the reader pool, so they answer while a write transaction holds
+ * the one writer connection.
+ */
+@DisabledIfSystemProperty(named = "inventory.test.backend", matches = "postgres",
+        disabledReason = "reads and writes share one pool on PostgreSQL")
+class ReadRoutingTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readsDoNotWaitForTheWriter() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Stock stock = fixtures.stock(product, fixtures.supplier(), fixtures.user(), 1);
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForObject("select 1", Integer.class);
+                    held.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        try {
+            Assertions.assertTrue(held.await(10, TimeUnit.SECONDS), "writer not taken");
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                expectOk(MockMvcRequestBuilders.get("/api/stocks/" + stock.getId()));
+                expectOk(MockMvcRequestBuilders.get("/api/stocks").param("after", Long.toString(stock.getId() - 1)));
+                expectOk(MockMvcRequestBuilders.get("/api/stocks/allocation")
+                        .param("product_id", product.getId().toString()).param("quantity", "1"));
+                expectOk(MockMvcRequestBuilders.get("/api/products/" + product.getId()));
+                expectOk(MockMvcRequestBuilders.get("/api/changes/head"));
+            });
+        } finally {
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void expectOk(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+    }
+}
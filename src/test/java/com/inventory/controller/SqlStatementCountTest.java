@@ -0,0 +1,286 @@
+package com.inventory.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.RecordedStatements;
+import com.inventory.SqlStatementAssertions;
+import com.inventory.model.Category;
+import com.inventory.model.Client;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pins the SQL statements per request of each controller's endpoints, counted at the
+ * connection so change log, outbox and rollup writes made with {@code JdbcTemplate}
+ * are included. A change here should come with a matching {@code @SqlStatementBudget}.
+ */
+@DisabledIfSystemProperty(named = "inventory.test.backend", matches = "postgres",
+        disabledReason = "pinned on SQLite; PostgreSQL runs the suite under the budgets instead")
+class SqlStatementCountTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private RouterFunction<ServerResponse> reactiveRoutes;
+
+    @Test
+    void stockController() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Supplier supplier = fixtures.supplier();
+        User user = fixtures.user();
+
+        MvcResult created = expect(9, MockMvcRequestBuilders.post("/api/stocks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"product_id\":" + product.getId() + ",\"supplier_id\":" + supplier.getId()
+                        + ",\"quantity\":5,\"selling_price\":2.5,\"deposited_by_user_id\":" + user.getId() + "}"), 201);
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        expect(1, MockMvcRequestBuilders.get("/api/stocks/" + id), 200);
+        expect(1, MockMvcRequestBuilders.get("/api/stocks").param("after", Long.toString(id - 1)), 200);
+        expect(6, MockMvcRequestBuilders.put("/api/stocks/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\":8}"), 200);
+        expect(6, MockMvcRequestBuilders.post("/api/stocks/" + id + "/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":-2}"), 200);
+        expect(1, MockMvcRequestBuilders.get("/api/stocks/allocation")
+                .param("product_id", product.getId().toString()).param("quantity", "1"), 200);
+        expect(5, MockMvcRequestBuilders.delete("/api/stocks/" + id), 204);
+    }
+
+    @Test
+    void productController() throws Exception {
+        Category category = fixtures.category();
+        MvcResult created = expect(5, MockMvcRequestBuilders.post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Counted product\",\"category_id\":" + category.getId() + "}"), 201);
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        expect(1, MockMvcRequestBuilders.get("/api/products/" + id), 200);
+        expect(1, MockMvcRequestBuilders.get("/api/products").param("after", Long.toString(id - 1)), 200);
+        expect(4, MockMvcRequestBuilders.delete("/api/products/" + id), 204);
+
+        // A rename logs the product's stock rows again
+        Product stocked = fixtures.product(category);
+        fixtures.stock(stocked, fixtures.supplier(), fixtures.user(), 1);
+        expect(7, MockMvcRequestBuilders.put("/api/products/" + stocked.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed counted product\"}"), 200);
+    }
+
+    @Test
+    void categoryController() throws Exception {
+        MvcResult created = expect(4, MockMvcRequestBuilders.post("/api/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Counted category\"}"), 201);
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        // Cached by the create
+        expect(0, MockMvcRequestBuilders.get("/api/categories/" + id), 200);
+        expect(3, MockMvcRequestBuilders.delete("/api/categories/" + id), 204);
+
+        // A rename logs the category's products again
+        Category used = fixtures.category();
+        fixtures.product(used);
+        expect(6, MockMvcRequestBuilders.put("/api/categories/" + used.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed counted category\"}"), 200);
+    }
+
+    @Test
+    void supplierController() throws Exception {
+        MvcResult created = expect(4, MockMvcRequestBuilders.post("/api/suppliers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Counted supplier\"}"), 201);
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        // Cached by the create
+        expect(0, MockMvcRequestBuilders.get("/api/suppliers/" + id), 200);
+        expect(4, MockMvcRequestBuilders.delete("/api/suppliers/" + id), 204);
+
+        // A rename logs the supplier's stock rows again
+        Supplier used = fixtures.supplier();
+        fixtures.stock(fixtures.product(fixtures.category()), used, fixtures.user(), 1);
+        expect(6, MockMvcRequestBuilders.put("/api/suppliers/" + used.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed counted supplier\"}"), 200);
+    }
+
+    @Test
+    void saleController() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        User user = fixtures.user();
+        Client client = fixtures.client();
+        Stock stock = fixtures.stock(product, fixtures.supplier(), user, 10);
+
+        expect(15, MockMvcRequestBuilders.post("/api/sales")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"client_id\":" + client.getId() + ",\"user_id\":" + user.getId()
+                        + ",\"payment_method\":\"cash\",\"items\":[{\"stock_id\":" + stock.getId()
+                        + ",\"quantity\":2},{\"product_id\":" + product.getId() + ",\"quantity\":1}]}"), 201);
+    }
+
+    @Test
+    void changeController() throws Exception {
+        expect(1, MockMvcRequestBuilders.get("/api/changes/head"), 200);
+    }
+
+    @Test
+    void alertAndCacheControllers() throws Exception {
+        expect(0, MockMvcRequestBuilders.get("/api/alerts"), 200);
+        expect(0, MockMvcRequestBuilders.get("/api/cache/stats"), 200);
+    }
+
+    @Test
+    void streamedEndpoints() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        fixtures.stock(product, fixtures.supplier(), fixtures.user(), 1);
+
+        // The handlers only hand the stream over; its query runs on the async thread
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/stocks").accept(MediaType.APPLICATION_NDJSON));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/products").accept(MediaType.APPLICATION_NDJSON));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/categories").accept(MediaType.APPLICATION_NDJSON));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/suppliers").accept(MediaType.APPLICATION_NDJSON));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/changes").param("since", "0"));
+    }
+
+    @Test
+    void reportController() throws Exception {
+        for (String by : List.of("category", "supplier", "location")) {
+            expectStreamed(1, MockMvcRequestBuilders.get("/api/reports/valuation").param("by", by));
+        }
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/reports/on-hand"));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/reports/margins"));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/reports/margins").param("supplierId", "1"));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/reports/sales").param("by", "day"));
+        expectStreamed(1, MockMvcRequestBuilders.get("/api/reports/sales").param("by", "client"));
+    }
+
+    @Test
+    void catalogLists() throws Exception {
+        Category category = fixtures.category();
+        Supplier supplier = fixtures.supplier();
+
+        // A cursor no earlier request used, so the page is not cached yet
+        expect(1, MockMvcRequestBuilders.get("/api/categories").param("after", Long.toString(category.getId() - 1)), 200);
+        expect(1, MockMvcRequestBuilders.get("/api/suppliers").param("after", Long.toString(supplier.getId() - 1)), 200);
+    }
+
+    @Test
+    void bulkStockImport() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Supplier supplier = fixtures.supplier();
+        User user = fixtures.user();
+        String row = product.getId() + "," + supplier.getId() + ",5,2.00," + user.getId() + ",\n";
+
+        // Per chunk, not per row: a key check per referenced table, one multi-row insert
+        // and the change log and outbox writes of the chunk
+        expect(8, MockMvcRequestBuilders.post("/api/stocks/bulk")
+                .contentType("text/csv")
+                .content("product_id,supplier_id,quantity,selling_price,deposited_by_user_id,expiration_date\n"
+                        + row + row + row + row), 200);
+    }
+
+    @Test
+    void authController() throws Exception {
+        String username = "counted" + System.nanoTime();
+        // The account is written on the hashing pool once the password is hashed
+        expectAsync(2, 3, MockMvcRequestBuilders.post("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                        + "\"password\":\"secret\"}"), 201);
+        MvcResult login = expectAsync(1, 0, MockMvcRequestBuilders.post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}"), 200);
+        String token = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+
+        expect(0, MockMvcRequestBuilders.get("/api/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token), 200);
+    }
+
+    @Test
+    void searchAndAlertStream() throws Exception {
+        expect(0, MockMvcRequestBuilders.get("/api/search").param("q", "counted"), 200);
+        MvcResult stream = expect(0, MockMvcRequestBuilders.get("/api/alerts/stream"), 200);
+        Assertions.assertTrue(stream.getRequest().isAsyncStarted(), "alert stream not left open");
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    @Test
+    void reactiveApi() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Stock stock = fixtures.stock(product, fixtures.supplier(), fixtures.user(), 1);
+        WebTestClient client = WebTestClient.bindToRouterFunction(reactiveRoutes).build();
+
+        // One page read on the read scheduler for a page shorter than the page size
+        expectElsewhere(1, () -> client.get().uri("/stocks?after={after}&limit=1", stock.getId() - 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class));
+        expectElsewhere(1, () -> client.get().uri("/products?after={after}&limit=1", product.getId() - 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class));
+    }
+
+    private MvcResult expect(int statements, MockHttpServletRequestBuilder request, int status) throws Exception {
+        return SqlStatementAssertions.assertQueryCount(statements, () -> mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().is(status))
+                .andReturn());
+    }
+
+    /**
+     * Pins a handler that returns a stream: nothing on the request thread, and
+     * {@code streamed} statements on the thread that writes the response.
+     */
+    private void expectStreamed(int streamed, MockHttpServletRequestBuilder request) throws Exception {
+        expectAsync(0, streamed, request, 200);
+    }
+
+    /**
+     * Pins a handler whose response is completed on another thread: {@code handler}
+     * statements before it returns, and {@code elsewhere} until the response is done.
+     */
+    private MvcResult expectAsync(int handler, int elsewhere, MockHttpServletRequestBuilder request, int status)
+            throws Exception {
+        List<MvcResult> done = new ArrayList<>();
+        expectElsewhere(elsewhere, () -> {
+            MvcResult started = SqlStatementAssertions.assertQueryCount(handler, () -> mockMvc.perform(request)
+                    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                    .andReturn());
+            done.add(mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started))
+                    .andExpect(MockMvcResultMatchers.status().is(status))
+                    .andReturn());
+        });
+        return done.get(0);
+    }
+
+    private static void expectElsewhere(int statements, RecordedStatements.Work work) throws Exception {
+        List<String> recorded = RecordedStatements.elsewhere(work);
+        Assertions.assertEquals(statements, recorded.size(), () -> "Statements on other threads:\n"
+                + String.join("\n", recorded));
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory.repository;
+
+import com.inventory.IntegrationTest;
+import com.inventory.RecordedStatements;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Runs every derived repository query and asks SQLite for the plan of each statement
+ * it issued: a lookup that scans a table means a migration is missing an index. The
+ * plan does not depend on the rows, so the queries run against whatever the shared
+ * database holds, inside a transaction that is rolled back.
+ */
+@Transactional
+@DisabledIfSystemProperty(named = "inventory.test.backend", matches = "postgres",
+        disabledReason = "EXPLAIN QUERY PLAN is SQLite syntax")
+class QueryPlanTest extends IntegrationTest {
+
+    /** Whole-table exports, which read every row by design. */
+    private static final Set<String> FULL_LISTINGS = Set.of("streamAllByOrderByIdAsc");
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void derivedQueriesUseAnIndex() throws Exception {
+        Repositories repositories = new Repositories(context);
+        List<String> scans = new ArrayList<>();
+        int explained = 0;
+        for (Class<?> domainType : repositories) {
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                if (method.isAnnotationPresent(Query.class) || FULL_LISTINGS.contains(method.getName())) {
+                    continue;
+                }
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                for (String sql : statementsIssuedBy(repository, method)) {
+                    explained++;
+                    for (String detail : plan(sql)) {
+                        if (detail.startsWith("SCAN ") && !detail.equals("SCAN CONSTANT ROW")) {
+                            scans.add(name + ": " + detail + " in " + sql);
+                        }
+                    }
+                }
+            }
+        }
+        Assertions.assertTrue(explained > 0, "no derived query was explained");
+        Assertions.assertTrue(scans.isEmpty(), () -> "derived queries scanning a table:\n" + String.join("\n", scans));
+    }
+
+    private List<String> statementsIssuedBy(Object repository, Method method) throws Exception {
+        Object[] args = new Object[method.getParameterCount()];
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            args[i] = sampleArgument(types[i]);
+        }
+        return RecordedStatements.during(() -> {
+            Object result = method.invoke(repository, args);
+            if (result instanceof Stream<?> stream) {
+                stream.close();
+            }
+        });
+    }
+
+    private List<String> plan(String sql) {
+        return jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql, ps -> {
+            int parameters = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                ps.setObject(i, null);
+            }
+        }, (rs, rowNum) -> rs.getString("detail"));
+    }
+
+    private static Object sampleArgument(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == String.class) {
+            return "query-plan";
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(1L);
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        throw new IllegalArgumentException("No sample argument for " + type.getName());
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.repository;
+
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.SqlStatementAssertions;
+import com.inventory.dto.StockDTO;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * The stock read paths: DTOs come from one statement with the names joined in, and
+ * loading the entity leaves its associations unloaded.
+ */
+class StockRepositoryTest extends IntegrationTest {
+
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void dtosComeFromOneStatement() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Supplier supplier = fixtures.supplier();
+        User user = fixtures.user();
+        Stock first = fixtures.stock(product, supplier, user, 1);
+        fixtures.stock(product, fixtures.supplier(), user, 2);
+        fixtures.stock(product, supplier, fixtures.user(), 3);
+
+        List<StockDTO> byProduct = SqlStatementAssertions.assertQueryCount(1,
+                () -> stockRepository.findDtosByProductId(product.getId()));
+        Assertions.assertEquals(3, byProduct.size());
+        StockDTO dto = byProduct.get(0);
+        Assertions.assertEquals(first.getId(), dto.getId());
+        Assertions.assertEquals(product.getName(), dto.getProductName());
+        Assertions.assertEquals(supplier.getName(), dto.getSupplierName());
+        Assertions.assertEquals(user.getUsername(), dto.getDepositorUsername());
+
+        Assertions.assertEquals(3, SqlStatementAssertions.assertQueryCount(1,
+                () -> stockRepository.findDtoPage(first.getId() - 1, Limit.of(3))).size());
+        Assertions.assertTrue(SqlStatementAssertions.assertQueryCount(1,
+                () -> stockRepository.findDtoById(first.getId())).isPresent());
+    }
+
+    @Test
+    void associationsStayLazy() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Stock saved = fixtures.stock(product, fixtures.supplier(), fixtures.user(), 1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            Stock stock = assertOneStatement(() -> stockRepository.findById(saved.getId()).orElseThrow());
+            Assertions.assertFalse(Hibernate.isInitialized(stock.getProduct()), "product loaded with the stock");
+            Assertions.assertFalse(Hibernate.isInitialized(stock.getSupplier()), "supplier loaded with the stock");
+            Assertions.assertFalse(Hibernate.isInitialized(stock.getDepositor()), "depositor loaded with the stock");
+            Assertions.assertFalse(Hibernate.isInitialized(stock.getSaleItems()), "sale items loaded with the stock");
+        });
+        transaction.executeWithoutResult(status -> {
+            Product loaded = assertOneStatement(() -> productRepository.findById(product.getId()).orElseThrow());
+            Assertions.assertFalse(Hibernate.isInitialized(loaded.getCategory()), "category loaded with the product");
+        });
+    }
+
+    private static <T> T assertOneStatement(Callable<T> work) {
+        try {
+            return SqlStatementAssertions.assertQueryCount(1, work);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
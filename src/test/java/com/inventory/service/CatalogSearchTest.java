@@ -0,0 +1,78 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.IntegrationTest;
+import com.inventory.dto.SearchHitDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Catalog writes reach the index through the outbox, after the request has returned.
+ */
+class CatalogSearchTest extends IntegrationTest {
+
+    @Autowired
+    private CatalogSearch catalogSearch;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void aRenamedCategoryIsSearchableByItsNewName() throws Exception {
+        String suffix = Long.toString(System.nanoTime());
+        long categoryId = create(MockMvcRequestBuilders.post("/api/categories"),
+                "{\"name\":\"Shelfcat" + suffix + "\"}");
+        long productId = create(MockMvcRequestBuilders.post("/api/products"),
+                "{\"name\":\"Widget\",\"category_id\":" + categoryId + "}");
+        await("shelfcat" + suffix, hits -> hits.size() == 1);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/categories/" + categoryId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Aislecat" + suffix + "\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        List<SearchHitDTO> hits = await("aislecat" + suffix, found -> found.size() == 1);
+        Assertions.assertEquals(productId, hits.get(0).getId());
+        Assertions.assertTrue(await("shelfcat" + suffix, List::isEmpty).isEmpty(), "indexed under the old name");
+    }
+
+    @Test
+    void suppliersAreIndexedAndRemoved() throws Exception {
+        String name = "Vendorco" + System.nanoTime();
+        long supplierId = create(MockMvcRequestBuilders.post("/api/suppliers"), "{\"name\":\"" + name + "\"}");
+        Assertions.assertEquals(supplierId, await(name, hits -> hits.size() == 1).get(0).getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/suppliers/" + supplierId))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Assertions.assertTrue(await(name, List::isEmpty).isEmpty(), "deleted supplier still indexed");
+    }
+
+    private long create(MockHttpServletRequestBuilder request, String body) throws Exception {
+        String response = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private List<SearchHitDTO> await(String text, Predicate<List<SearchHitDTO>> condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<SearchHitDTO> hits = catalogSearch.search(text, null, 0, 10);
+        while (!condition.test(hits) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            hits = catalogSearch.search(text, null, 0, 10);
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,27 @@
+package com.inventory.service;
+
+import com.inventory.IntegrationTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+@EnabledIfSystemProperty(named = "inventory.test.backend", matches = "postgres",
+        disabledReason = "SQLite takes no instance lock")
+class InstanceLockTest extends IntegrationTest {
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    @Value("${inventory.instance-lock-sql}")
+    private String lockSql;
+
+    @Test
+    void aSecondInstanceDoesNotStart() {
+        // The test context is the first instance and holds the lock
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                () -> new InstanceLock(dataSourceProperties, lockSql));
+        Assertions.assertTrue(e.getMessage().startsWith("Another instance"), e.getMessage());
+    }
+}
@@ -0,0 +1,102 @@
+package com.inventory.service;
+
+import com.inventory.IntegrationTest;
+import com.inventory.model.OutboxEvent;
+import com.inventory.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+class OutboxTest extends IntegrationTest {
+
+    /**
+     * Product ids no real product has, one per test event. They differ from run to run:
+     * dead events stay in the outbox, and a PostgreSQL test database outlives the run.
+     */
+    private static final AtomicLong NEXT_ID = new AtomicLong(-System.currentTimeMillis());
+
+    @Autowired
+    private Outbox outbox;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private RecordedEvents recordedEvents;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void retriesAnEventASubscriberFailed() throws Exception {
+        long productId = NEXT_ID.getAndDecrement();
+        recordedEvents.failOn(event -> isFor(event, productId), 2);
+
+        publish(productId);
+
+        Assertions.assertEquals(1, awaitDeliveries(productId, 1, Duration.ofSeconds(10)).size());
+        // Deleted just after delivery, in the dispatcher's own transaction
+        Assertions.assertTrue(awaitRows(productId, List::isEmpty).isEmpty(), "delivered event left in the outbox");
+        Assertions.assertEquals(1, awaitDeliveries(productId, 2, Duration.ofMillis(500)).size(),
+                "event delivered again after it was handled");
+    }
+
+    @Test
+    void keepsAnEventOutOfAttemptsAsDead() throws Exception {
+        long productId = NEXT_ID.getAndDecrement();
+        recordedEvents.failOn(event -> isFor(event, productId), Integer.MAX_VALUE);
+
+        publish(productId);
+
+        List<OutboxEvent> rows = awaitRows(productId, found -> found.size() == 1 && found.get(0).isDead());
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertTrue(rows.get(0).isDead(), "event not marked dead");
+        Assertions.assertEquals(3, rows.get(0).getAttempts());
+        // The other subscribers handled it on the first attempt and are not retried
+        Assertions.assertEquals("RecordedEvents", remainingSubscriber(rows.get(0)));
+    }
+
+    private void publish(long productId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outbox.publish(new DomainEvent.ProductChanged(productId, null)));
+    }
+
+    private List<DomainEvent.ProductChanged> awaitDeliveries(long productId, int count, Duration timeout)
+            throws InterruptedException {
+        return recordedEvents.await(DomainEvent.ProductChanged.class, event -> isFor(event, productId), count,
+                timeout);
+    }
+
+    private List<OutboxEvent> awaitRows(long productId, Predicate<List<OutboxEvent>> condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<OutboxEvent> rows = rows(productId);
+        while (!condition.test(rows) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            rows = rows(productId);
+        }
+        return rows;
+    }
+
+    private List<OutboxEvent> rows(long productId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(row -> row.getPayload().contains("\"productId\":" + productId + ","))
+                .toList();
+    }
+
+    private static boolean isFor(DomainEvent event, long productId) {
+        return event instanceof DomainEvent.ProductChanged changed && changed.productId() == productId;
+    }
+
+    private String remainingSubscriber(OutboxEvent row) {
+        List<String> delivered = List.of(row.getDeliveredTo().split(","));
+        return List.of("CatalogSearch", "StockAlerts", "RecordedEvents").stream()
+                .filter(name -> !delivered.contains(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
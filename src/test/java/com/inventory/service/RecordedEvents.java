@@ -0,0 +1,61 @@
+package com.inventory.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Subscriber that keeps every domain event the outbox delivers, for tests to wait on,
+ * and can be told to fail some of them.
+ */
+public class RecordedEvents implements DomainEventSubscriber {
+
+    private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+    private final List<Failure> failures = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void on(long id, DomainEvent event) {
+        for (Failure failure : failures) {
+            if (failure.filter.test(event) && failure.remaining.getAndDecrement() > 0) {
+                throw new IllegalStateException("Failing outbox event " + id + " on purpose");
+            }
+        }
+        events.add(event);
+    }
+
+    /**
+     * Throws on the next {@code times} deliveries of events matching {@code filter}.
+     */
+    public void failOn(Predicate<DomainEvent> filter, int times) {
+        failures.add(new Failure(filter, new AtomicInteger(times)));
+    }
+
+    /**
+     * Waits up to {@code timeout} for {@code count} delivered events of {@code type}
+     * matching {@code filter}, and returns those delivered by then.
+     */
+    public <E extends DomainEvent> List<E> await(Class<E> type, Predicate<E> filter, int count, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<E> matching;
+        do {
+            matching = new ArrayList<>();
+            for (DomainEvent event : events) {
+                if (type.isInstance(event) && filter.test(type.cast(event))) {
+                    matching.add(type.cast(event));
+                }
+            }
+            if (matching.size() >= count) {
+                break;
+            }
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        return matching;
+    }
+
+    private record Failure(Predicate<DomainEvent> filter, AtomicInteger remaining) {
+    }
+}
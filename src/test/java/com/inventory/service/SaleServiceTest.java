@@ -0,0 +1,140 @@
+package com.inventory.service;
+
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.RecordedStatements;
+import com.inventory.dto.SaleDTO;
+import com.inventory.dto.SaleRequest;
+import com.inventory.model.Client;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+import com.inventory.repository.StockRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout of product lines through {@link StockAllocator}.
+ */
+class SaleServiceTest extends IntegrationTest {
+
+    @Autowired
+    private SaleService saleService;
+    @Autowired
+    private StockAllocator stockAllocator;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private Stock expiringFirst;
+    private Stock expiringLater;
+
+    @Test
+    void plansAgainWhenAPlannedBatchWasSold() throws Exception {
+        batches(2, 5);
+        stockAllocator.allocate(product.getId(), 1);
+        // Sold outside the index's sight, as by a checkout whose commit it has not seen yet
+        jdbcTemplate.update("update stock set quantity = 0 where id = ?", expiringFirst.getId());
+
+        List<SaleDTO> sale = new ArrayList<>();
+        List<String> statements = RecordedStatements.during(() -> sale.add(checkout(productLine(3))));
+
+        Assertions.assertEquals(Map.of(expiringLater.getId(), 3), sold(sale.get(0)));
+        Assertions.assertEquals(1, batchLoads(statements));
+    }
+
+    @Test
+    void aShortIndexIsReloadedBeforeFailing() throws Exception {
+        batches(2, 1);
+        stockAllocator.allocate(product.getId(), 1);
+        // Restocked outside the index's sight, as by another node or manual SQL
+        jdbcTemplate.update("update stock set quantity = 5 where id = ?", expiringLater.getId());
+
+        List<SaleDTO> sale = new ArrayList<>();
+        List<String> statements = RecordedStatements.during(() -> sale.add(checkout(productLine(4))));
+
+        Assertions.assertEquals(Map.of(expiringFirst.getId(), 2, expiringLater.getId(), 2), sold(sale.get(0)));
+        Assertions.assertEquals(1, batchLoads(statements));
+    }
+
+    @Test
+    void aShortageFailsAfterOneReload() throws Exception {
+        batches(2, 1);
+        stockAllocator.allocate(product.getId(), 1);
+
+        List<String> statements = RecordedStatements.during(() -> Assertions.assertThrows(
+                InsufficientStockException.class, () -> checkout(productLine(4))));
+
+        Assertions.assertEquals(1, batchLoads(statements));
+        Assertions.assertEquals(3, stockAllocator.allocate(product.getId(), 4).getAllocated());
+    }
+
+    @Test
+    void aLoadInsideTheCheckoutCountsWhatItAlreadyTook() {
+        batches(2, 5);
+        stockAllocator.invalidate(product.getId());
+
+        SaleRequest.Item stockLine = new SaleRequest.Item();
+        stockLine.setStockId(expiringFirst.getId());
+        stockLine.setQuantity(1);
+        SaleDTO sale = checkout(stockLine, productLine(3));
+
+        Assertions.assertEquals(Map.of(expiringFirst.getId(), 2, expiringLater.getId(), 2), sold(sale));
+        // Loaded inside the checkout, the index still holds committed quantities after it
+        Assertions.assertEquals(3, stockAllocator.allocate(product.getId(), 10).getAllocated());
+    }
+
+    private void batches(int first, int later) {
+        product = fixtures.product(fixtures.category());
+        Supplier supplier = fixtures.supplier();
+        User user = fixtures.user();
+        expiringFirst = fixtures.stock(product, supplier, user, first);
+        expiringFirst.setExpirationDate(LocalDate.now().plusDays(1));
+        expiringFirst = stockRepository.save(expiringFirst);
+        expiringLater = fixtures.stock(product, supplier, user, later);
+        expiringLater.setExpirationDate(LocalDate.now().plusDays(30));
+        expiringLater = stockRepository.save(expiringLater);
+    }
+
+    private SaleRequest.Item productLine(int quantity) {
+        SaleRequest.Item item = new SaleRequest.Item();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private SaleDTO checkout(SaleRequest.Item... items) {
+        Client client = fixtures.client();
+        SaleRequest request = new SaleRequest();
+        request.setClientId(client.getId());
+        request.setUserId(fixtures.user().getId());
+        request.setPaymentMethod("cash");
+        request.setItems(List.of(items));
+        return saleService.checkout(request);
+    }
+
+    private static Map<Long, Integer> sold(SaleDTO sale) {
+        return sale.getItems().stream()
+                .collect(Collectors.toMap(SaleDTO.Item::getStockId, SaleDTO.Item::getQuantitySold));
+    }
+
+    /** Statements that load a product's batches into the allocator. */
+    private static long batchLoads(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> sql.contains(" from stock ") && sql.contains(".product_id=?"))
+                .count();
+    }
+}
@@ -0,0 +1,72 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Products are tracked from their creation, not from their first stock row.
+ */
+class StockAlertsTest extends IntegrationTest {
+
+    @Autowired
+    private StockAlerts stockAlerts;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void aProductWithoutStockIsLowOnStock() throws Exception {
+        long categoryId = fixtures.category().getId();
+        long productId = create(MockMvcRequestBuilders.post("/api/products"),
+                "{\"name\":\"Unstocked\",\"category_id\":" + categoryId + "}");
+
+        Optional<StockAlert> alert = await(productId, Optional::isPresent);
+        Assertions.assertTrue(alert.isPresent(), "new product not reported");
+        Assertions.assertEquals(0, alert.get().getQuantity());
+
+        create(MockMvcRequestBuilders.post("/api/stocks"), "{\"product_id\":" + productId
+                + ",\"supplier_id\":" + fixtures.supplier().getId()
+                + ",\"quantity\":50,\"selling_price\":2.00,\"deposited_by_user_id\":" + fixtures.user().getId() + "}");
+
+        Assertions.assertTrue(await(productId, Optional::isEmpty).isEmpty(), "restocked product still reported");
+    }
+
+    private long create(MockHttpServletRequestBuilder request, String body) throws Exception {
+        String response = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private Optional<StockAlert> await(long productId, Predicate<Optional<StockAlert>> condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        Optional<StockAlert> alert = lowStock(productId);
+        while (!condition.test(alert) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            alert = lowStock(productId);
+        }
+        return alert;
+    }
+
+    private Optional<StockAlert> lowStock(long productId) {
+        return stockAlerts.current().stream()
+                .filter(alert -> alert.getType() == StockAlert.Type.LOW_STOCK && alert.getProductId() == productId)
+                .findFirst();
+    }
+}
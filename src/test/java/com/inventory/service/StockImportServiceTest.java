@@ -0,0 +1,56 @@
+package com.inventory.service;
+
+import com.inventory.Fixtures;
+import com.inventory.IntegrationTest;
+import com.inventory.dto.BulkImportResult;
+import com.inventory.model.Product;
+import com.inventory.model.Stock;
+import com.inventory.model.Supplier;
+import com.inventory.model.User;
+import com.inventory.repository.StockRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class StockImportServiceTest extends IntegrationTest {
+
+    @Autowired
+    private StockImportService stockImportService;
+    @Autowired
+    private Fixtures fixtures;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private RecordedEvents recordedEvents;
+
+    @Test
+    void publishesOneDepositPerInsertedRow() throws Exception {
+        Product product = fixtures.product(fixtures.category());
+        Supplier supplier = fixtures.supplier();
+        User user = fixtures.user();
+
+        String csv = "product_id,supplier_id,quantity,selling_price,deposited_by_user_id,expiration_date\n"
+                + product.getId() + "," + supplier.getId() + ",5,2.00," + user.getId() + ",2030-01-01\n"
+                + "0," + supplier.getId() + ",1,1.00," + user.getId() + ",\n"
+                + product.getId() + "," + supplier.getId() + ",7,3.00," + user.getId() + ",\n";
+        BulkImportResult result = stockImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(2, result.getInserted());
+        Assertions.assertEquals(1, result.getFailed());
+
+        Long productId = product.getId();
+        Map<Long, Integer> inserted = stockRepository.findByProductId(productId).stream()
+                .collect(Collectors.toMap(Stock::getId, Stock::getQuantity));
+        List<DomainEvent.StockDeposited> deposits = recordedEvents.await(DomainEvent.StockDeposited.class,
+                event -> productId.equals(event.productId()), inserted.size(), Duration.ofSeconds(10));
+        Assertions.assertEquals(inserted, deposits.stream()
+                .collect(Collectors.toMap(DomainEvent.StockDeposited::stockId, DomainEvent.StockDeposited::quantity)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.inventory.web;
+
+import com.inventory.IntegrationTest;
+import com.inventory.SqlStatementAssertions;
+import com.inventory.config.SqlStatementCounter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class ListResponseCacheTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void aCurrentTagIsAnsweredWithoutAQuery() throws Exception {
+        String etag = list().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlStatementAssertions.assertQueryCount(0, () -> mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified()));
+    }
+
+    @Test
+    void aChangeWithinTheSameSecondIsNotMissed() throws Exception {
+        MvcResult before = list();
+        Assertions.assertNull(before.getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+
+        createCategory();
+
+        // A date-based check cannot order changes within a second, so it is never trusted
+        String later = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(1));
+        MvcResult after = mockMvc.perform(MockMvcRequestBuilders.get("/api/categories")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, later))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Assertions.assertNotEquals(before.getResponse().getHeader(HttpHeaders.ETAG),
+                after.getResponse().getHeader(HttpHeaders.ETAG));
+        // Served from the page the previous request cached
+        SqlStatementAssertions.assertQueryCount(0, () -> list());
+    }
+
+    @Test
+    void concurrentRequestsForAChangedPageLoadItOnce() throws Exception {
+        createCategory();
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Integer>> statements = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                statements.add(pool.submit(() -> {
+                    start.await();
+                    SqlStatementCounter.Scope scope = SqlStatementCounter.start();
+                    try {
+                        list();
+                    } finally {
+                        scope.close();
+                    }
+                    return scope.getStatements();
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (Future<Integer> count : statements) {
+                total += count.get(30, TimeUnit.SECONDS);
+            }
+            Assertions.assertEquals(1, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void createCategory() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Listed category " + System.nanoTime() + "\"}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+    }
+
+    private MvcResult list() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/categories"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+    }
+}